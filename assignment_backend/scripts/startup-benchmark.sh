@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compares cold start of the default and fast-startup modes: time from launching the JVM to the first
+# successful API response, and resident memory right after it. Each mode is started RUNS times
+# (default 5) against the configured database; medians are printed and written to
+# target/perf-reports/startup-report.json.
+#
+#   ./mvnw -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh
+#
+# Environment: RUNS, PORT (default 8080), PROBE (default /api/books?size=1), TIMEOUT_SECONDS (default 120),
+# plus whatever the application itself reads (SPRING_DATASOURCE_URL, ...). The schema must already be
+# migrated, since the fast mode has no Flyway beans (./mvnw flyway:migrate).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+PROBE=${PROBE:-/api/books?size=1}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+REPORT_DIR=target/perf-reports
+
+if [[ ! -f target/app.jar || ! -f target/fast/app.aot ]]; then
+    echo "Build first: ./mvnw -Pfast-startup -DskipTests package" >&2
+    exit 1
+fi
+
+# Starts the given command, waits for PROBE to answer 2xx and prints "<millis> <rss-kb>".
+measure() {
+    local started pid elapsed rss
+    started=$(date +%s%N)
+    "$@" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    while ! curl -sf -o /dev/null "http://localhost:$PORT$PROBE"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before answering $PROBE: $*" >&2
+            exit 1
+        fi
+        if (( ($(date +%s%N) - started) / 1000000000 > TIMEOUT_SECONDS )); then
+            kill "$pid"
+            echo "No answer from $PROBE within $TIMEOUT_SECONDS s: $*" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local times=() rss=() result
+    for ((i = 1; i <= RUNS; i++)); do
+        result=$(measure "$@")
+        times+=("${result% *}")
+        rss+=("${result#* }")
+        echo "$name run $i: ${result% *} ms to first response, ${result#* } KB RSS" >&2
+    done
+    printf '"%s": {"timeToFirstRequestMs": %s, "rssKb": %s}' "$name" \
+        "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rss[@]}" | median)"
+}
+
+default=$(run_mode default java -jar target/app.jar)
+fast=$(run_mode fast java -XX:AOTCache=target/fast/app.aot -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast -jar target/fast/app.jar)
+
+mkdir -p "$REPORT_DIR"
+printf '{"timestamp": "%s", "runs": %s, %s, %s}\n' "$(date -u +%Y-%m-%dT%H:%M:%SZ)" "$RUNS" "$default" "$fast" \
+    | tee "$REPORT_DIR/startup-report.json"
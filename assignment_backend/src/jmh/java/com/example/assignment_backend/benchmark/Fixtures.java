@@ -0,0 +1,52 @@
+package com.example.assignment_backend.benchmark;
+
+import com.example.assignment_backend.entity.Author;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.entity.Member;
+import com.example.assignment_backend.mapper.AuthorMapper;
+import com.example.assignment_backend.mapper.BookMapper;
+import com.example.assignment_backend.mapper.BorrowedBookMapper;
+import com.example.assignment_backend.mapper.MemberMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic, realistically sized entities shared by the benchmarks. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static BorrowedBookMapper borrowedBookMapper() {
+        return new BorrowedBookMapper(bookMapper(), new MemberMapper());
+    }
+
+    static BookMapper bookMapper() {
+        return new BookMapper(new AuthorMapper());
+    }
+
+    static Book book(long id) {
+        Author author = new Author(id % 997, "Author Number " + (id % 997) + " Lastname", 4L);
+        return new Book(id, "The Collected Title of Book " + id, "Category " + (id % 17),
+                1950 + (int) (id % 75), author, 2L);
+    }
+
+    static Member member(long id) {
+        return new Member(id, "Member Name " + id, "member" + id + "@example.com", "+1-555-" + (1000 + id % 9000), 1L);
+    }
+
+    static BorrowedBook borrowedBook(long id) {
+        LocalDate borrowed = LocalDate.of(2024, 1, 1).plusDays(id % 365);
+        return new BorrowedBook(id, book(id * 7 + 1), member(id * 3 + 1), borrowed,
+                id % 3 == 0 ? null : borrowed.plusDays(14), 0L);
+    }
+
+    static List<BorrowedBook> borrowedBooks(int count) {
+        List<BorrowedBook> loans = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            loans.add(borrowedBook(i));
+        }
+        return loans;
+    }
+}
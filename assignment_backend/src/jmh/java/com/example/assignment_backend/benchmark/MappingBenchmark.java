@@ -0,0 +1,67 @@
+package com.example.assignment_backend.benchmark;
+
+import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.mapper.BookMapper;
+import com.example.assignment_backend.mapper.BorrowedBookMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity-to-DTO mapping cost per entity and per page. Run with {@code -prof gc} (the default in the
+ * jmh profile) to read {@code gc.alloc.rate.norm}, i.e. bytes allocated per mapped response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({ "10", "100" })
+    int pageSize;
+
+    private BookMapper bookMapper;
+    private BorrowedBookMapper borrowedBookMapper;
+    private Book book;
+    private BorrowedBook borrowedBook;
+    private List<BorrowedBook> page;
+
+    @Setup
+    public void setUp() {
+        bookMapper = Fixtures.bookMapper();
+        borrowedBookMapper = Fixtures.borrowedBookMapper();
+        book = Fixtures.book(42);
+        borrowedBook = Fixtures.borrowedBook(42);
+        page = Fixtures.borrowedBooks(pageSize);
+    }
+
+    @Benchmark
+    public BookResponseDto toBookResponseDto() {
+        return bookMapper.toBookResponseDto(book);
+    }
+
+    @Benchmark
+    public BorrowedBookResponseDto toBorrowedBookResponseDto() {
+        return borrowedBookMapper.toBorrowedBookResponseDto(borrowedBook);
+    }
+
+    @Benchmark
+    public List<BorrowedBookResponseDto> mapBorrowedBookPage() {
+        return page.stream().map(borrowedBookMapper::toBorrowedBookResponseDto).toList();
+    }
+}
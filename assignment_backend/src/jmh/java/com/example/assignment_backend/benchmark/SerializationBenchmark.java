@@ -0,0 +1,72 @@
+package com.example.assignment_backend.benchmark;
+
+import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.mapper.BorrowedBookMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JSON serialization of a borrowed-book page exactly as the list endpoint writes it (the page is
+ * wrapped in a {@link PagedModel} because the application uses {@code PageSerializationMode.VIA_DTO}).
+ * The encoded size of each page is printed during setup so bytes-per-page changes show up next to
+ * the timing and allocation numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "10", "100" })
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BorrowedBookMapper mapper;
+    private List<BorrowedBook> entities;
+    private Page<BorrowedBookResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        mapper = Fixtures.borrowedBookMapper();
+        entities = Fixtures.borrowedBooks(pageSize);
+        List<BorrowedBookResponseDto> content = entities.stream()
+                .map(mapper::toBorrowedBookResponseDto)
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 250_000);
+        System.out.printf("%nPage of %d loans serializes to %d bytes%n", pageSize,
+                objectMapper.writeValueAsBytes(new PagedModel<>(page)).length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(page));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() {
+        Page<BorrowedBookResponseDto> mapped = new PageImpl<>(entities, page.getPageable(), page.getTotalElements())
+                .map(mapper::toBorrowedBookResponseDto);
+        return objectMapper.writeValueAsBytes(new PagedModel<>(mapped));
+    }
+}
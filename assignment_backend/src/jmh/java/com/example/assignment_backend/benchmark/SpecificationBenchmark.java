@@ -0,0 +1,94 @@
+package com.example.assignment_backend.benchmark;
+
+import com.example.assignment_backend.entity.Author;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.entity.Member;
+import com.example.assignment_backend.repository.BorrowedBookSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria predicate construction for the borrowed-book filters, measured against a real Hibernate
+ * metamodel. Hibernate is bootstrapped for PostgreSQL without touching JDBC, so no database is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecificationBenchmark {
+
+    private static final LocalDate BORROW_DATE = LocalDate.of(2024, 5, 1);
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private CriteriaBuilder cb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(Member.class)
+                .addAnnotatedClass(BorrowedBook.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+        cb = session.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate titleFilter() {
+        return toPredicate(BorrowedBookSpecifications.hasTitle("harry"));
+    }
+
+    @Benchmark
+    public Predicate searchFilter() {
+        return toPredicate(BorrowedBookSpecifications.hasTitle("harry")
+                .or(BorrowedBookSpecifications.hasMemberName("harry")));
+    }
+
+    @Benchmark
+    public Predicate allFiltersRanked() {
+        return toPredicate(BorrowedBookSpecifications.hasTitle("harry")
+                .and(BorrowedBookSpecifications.hasMemberName("smith"))
+                .and(BorrowedBookSpecifications.hasBorrowDate(BORROW_DATE))
+                .and(BorrowedBookSpecifications.orderByRelevance("harry", "smith")));
+    }
+
+    private Predicate toPredicate(Specification<BorrowedBook> spec) {
+        CriteriaQuery<BorrowedBook> query = cb.createQuery(BorrowedBook.class);
+        Root<BorrowedBook> root = query.from(BorrowedBook.class);
+        return spec.toPredicate(root, query, cb);
+    }
+}
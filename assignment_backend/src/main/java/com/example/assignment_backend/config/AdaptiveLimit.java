@@ -0,0 +1,67 @@
+package com.example.assignment_backend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit adjusted by AIMD from request latency. A completion within the target while
+ * at least half the limit is in use grows the limit by 1/limit (about one per limit's worth of
+ * requests); a completion over the target, or a failure, cuts it by {@value #BACKOFF} at most once
+ * per target period, so one slow burst is not counted many times over.
+ */
+final class AdaptiveLimit {
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Written under the lock; read without it by tryAcquire.
+    private volatile int limit;
+    private double estimate;
+    private long lastDecrease;
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.estimate = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimate;
+        this.lastDecrease = System.nanoTime() - targetNanos;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long elapsedNanos, boolean failed) {
+        int inUse = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || elapsedNanos > targetNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecrease >= targetNanos) {
+                    estimate = Math.max(minLimit, estimate * BACKOFF);
+                    lastDecrease = now;
+                }
+            } else if (inUse * 2 >= limit) {
+                estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+            }
+            limit = (int) estimate;
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.assignment_backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method in an admission class other than the default: GETs on a path with an
+ * {@code {id}} variable are {@link RequestClass#POINT_READ}, other GETs {@link RequestClass#LIST},
+ * and everything else {@link RequestClass#WRITE}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+    RequestClass value();
+}
@@ -0,0 +1,127 @@
+package com.example.assignment_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-class admission control. Each {@link RequestClass} is a bulkhead with its own
+ * {@link AdaptiveLimit}, so a burst of wide searches or exports saturates only its own class while
+ * point reads keep their share of the connection pool. A request over its class's limit is refused
+ * at once with 503 and {@code Retry-After} instead of queueing for a connection. Streaming responses
+ * hold their slot until the async dispatch completes.
+ *
+ * <p>Metrics: {@code app.admission.limit} and {@code app.admission.in-flight} gauges and the
+ * {@code app.admission.rejected} counter, tagged by class.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final String STARTED = AdmissionControlInterceptor.class.getName() + ".started";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<RequestClass, AdaptiveLimit> limits = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> rejections = new EnumMap<>(RequestClass.class);
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @PostConstruct
+    void createLimits() {
+        for (RequestClass requestClass : RequestClass.values()) {
+            String prefix = "app.admission." + requestClass.key() + ".";
+            AdaptiveLimit limit = new AdaptiveLimit(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, requestClass.initialLimit()),
+                    environment.getProperty(prefix + "min-limit", Integer.class, requestClass.minLimit()),
+                    environment.getProperty(prefix + "max-limit", Integer.class, requestClass.maxLimit()),
+                    TimeUnit.MILLISECONDS.toNanos(
+                            environment.getProperty(prefix + "target-ms", Long.class, requestClass.targetMillis())));
+            limits.put(requestClass, limit);
+            Gauge.builder("app.admission.limit", limit, AdaptiveLimit::getLimit)
+                    .description("Current concurrency limit of the admission class")
+                    .tag("class", requestClass.key())
+                    .register(meterRegistry);
+            Gauge.builder("app.admission.in-flight", limit, AdaptiveLimit::getInFlight)
+                    .description("Requests of the admission class being served")
+                    .tag("class", requestClass.key())
+                    .register(meterRegistry);
+            rejections.put(requestClass, Counter.builder("app.admission.rejected")
+                    .description("Requests refused with 503 because their admission class was at its limit")
+                    .tag("class", requestClass.key())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // The async dispatch of a streaming response still holds the slot taken by the first one.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequestClass requestClass = classify(request, method);
+        if (!limits.get(requestClass).tryAcquire()) {
+            rejections.get(requestClass).increment();
+            log.debug("Rejected {} {} ({} limit {})", request.getMethod(), request.getRequestURI(),
+                    requestClass.key(), limits.get(requestClass).getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"errors\":[\"Server is busy; retry after " + retryAfterSeconds + " s\"]}");
+            return false;
+        }
+        request.setAttribute(PERMIT, requestClass);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof RequestClass requestClass) {
+            request.removeAttribute(PERMIT);
+            long elapsed = System.nanoTime() - (long) request.getAttribute(STARTED);
+            limits.get(requestClass).release(elapsed, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static RequestClass classify(HttpServletRequest request, HandlerMethod method) {
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        if (admission != null) {
+            return admission.value();
+        }
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return RequestClass.WRITE;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null && pattern.toString().contains("{") ? RequestClass.POINT_READ : RequestClass.LIST;
+    }
+}
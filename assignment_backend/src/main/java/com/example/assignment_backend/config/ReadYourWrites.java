@@ -0,0 +1,26 @@
+package com.example.assignment_backend.config;
+
+/**
+ * Marks the current request as pinned to the primary database, so its read-only transactions see
+ * the client's own recent writes instead of a replica that may not have replayed them yet. Set per
+ * request by {@link ReadYourWritesInterceptor}, and by background jobs that read what they wrote;
+ * read by {@link ReplicaRoutingDataSource}.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.assignment_backend.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Read-your-writes stickiness for replica routing. A write request (anything but GET, HEAD or
+ * OPTIONS) sets a cookie holding the time until which the client stays pinned; requests carrying an
+ * unexpired cookie read from the primary. The cookie is set before the handler runs because the
+ * response may already be committed when the handler returns. The state lives with the client, so
+ * it holds across application instances. Disabled when {@code app.datasource.replica.read-your-writes-ms}
+ * is 0.
+ */
+@Component
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    static final String COOKIE = "app-primary-until";
+
+    @Value("${app.datasource.replica.read-your-writes-ms:0}")
+    private long windowMillis;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (windowMillis <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method)) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(now + windowMillis))
+                    .path("/")
+                    .maxAge((windowMillis + 999) / 1000)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            ReadYourWrites.pin();
+        } else if (pinnedUntil(request) > now) {
+            ReadYourWrites.pin();
+        }
+        return true;
+    }
+
+    // Streaming responses leave the request thread here and afterCompletion runs on a later dispatch,
+    // so the pin must not stay behind on this pooled worker.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        ReadYourWrites.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReadYourWrites.clear();
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.assignment_backend.config;
+
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Keeps replica reads out of the shared second-level cache. A read-only transaction that is not
+ * pinned to the primary reads from a replica that may lag behind; if its entity loads populated the
+ * cache, a client could later get a body older than the ETag the primary reports. Such transactions
+ * run with {@link CacheMode#GET}: they still read cached entries but never put what they loaded.
+ * The session's previous cache mode is restored when the transaction ends.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadYourWrites.isPinned()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaRead(transactionData, session, previous);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaRead read) {
+            read.session().setCacheMode(read.previous());
+            super.cleanupTransaction(read.delegate());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaRead(Object delegate, Session session, CacheMode previous) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.assignment_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round-robin, and everything else
+ * to the primary. A replica whose {@code getConnection()} fails is skipped for {@code retryAfterMillis}
+ * and the next one is tried; with no replica available the read goes to the primary. Requests pinned
+ * by {@link ReadYourWrites} always use the primary.
+ *
+ * <p>The read-only flag is only known once the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching
+ * the physical connection to the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryAfterMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryRouted;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long retryAfterMillis,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.retryAfterMillis = retryAfterMillis;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(replicas.get(i), routedCounter(meterRegistry, "replica-" + i)))
+                .toList();
+        this.primaryRouted = routedCounter(meterRegistry, "primary");
+        this.fallbacks = Counter.builder("app.datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+            fallbacks.increment();
+        }
+        primaryRouted.increment();
+        return primary.getConnection();
+    }
+
+    // Explicit credentials are the primary's; the replica pools carry their own.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRouted.increment();
+        return primary.getConnection(username, password);
+    }
+
+    // Closes the replica pools; the primary pool is a bean of its own.
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("app.datasource.routed")
+                .description("Connections handed out by the replica router")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private Connection replicaConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (System.currentTimeMillis() < replica.downUntil) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = System.currentTimeMillis() + retryAfterMillis;
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}", (start + i) % replicas.size(),
+                        retryAfterMillis, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final Counter routed;
+        private volatile long downUntil;
+
+        private Replica(DataSource dataSource, Counter routed) {
+            this.dataSource = dataSource;
+            this.routed = routed;
+        }
+    }
+}
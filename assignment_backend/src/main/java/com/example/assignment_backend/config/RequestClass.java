@@ -0,0 +1,50 @@
+package com.example.assignment_backend.config;
+
+/**
+ * Admission classes, each with its own adaptive concurrency limit. Defaults may be overridden with
+ * {@code app.admission.<key>.initial-limit}, {@code .min-limit}, {@code .max-limit} and
+ * {@code .target-ms}; a completion slower than the target shrinks the limit.
+ */
+public enum RequestClass {
+    // Lookups by id or a bounded id batch.
+    POINT_READ("point-read", 50, 8, 400, 50),
+    // Pages, searches and aggregates.
+    LIST("list", 20, 2, 100, 250),
+    WRITE("write", 20, 2, 100, 250),
+    // Exports, imports and rebuilds: effectively a fixed bulkhead.
+    BULK("bulk", 2, 1, 4, 600_000);
+
+    private final String key;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetMillis;
+
+    RequestClass(String key, int initialLimit, int minLimit, int maxLimit, long targetMillis) {
+        this.key = key;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetMillis = targetMillis;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    int initialLimit() {
+        return initialLimit;
+    }
+
+    int minLimit() {
+        return minLimit;
+    }
+
+    int maxLimit() {
+        return maxLimit;
+    }
+
+    long targetMillis() {
+        return targetMillis;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.assignment_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Background jobs (see OverdueScanService); switched off with {@code app.scheduling.enabled=false}. */
+@Configuration
+@EnableScheduling
+@EnableAsync
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
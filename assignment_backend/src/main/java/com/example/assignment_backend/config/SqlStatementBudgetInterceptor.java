@@ -0,0 +1,75 @@
+package com.example.assignment_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements each request issued ({@code app.sql.statements} per URI pattern)
+ * and flags requests above {@code app.sql.statement-budget}: such a request is logged as a warning
+ * and counted in {@code app.sql.budget.exceeded}. A request that needs dozens of statements is
+ * almost always lazy loading fanning out over a page (N+1).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatementBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final String ASYNC = SqlStatementBudgetInterceptor.class.getName() + ".async";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.statement-budget:10}")
+    private int statementBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        counter.start();
+        return true;
+    }
+
+    // Streaming responses leave the request thread here; afterCompletion runs on a later dispatch that
+    // only sees the statements of that dispatch, so the request is not recorded at all.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        counter.stop();
+        request.setAttribute(ASYNC, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        int statements = counter.stop();
+        if (request.getAttribute(ASYNC) != null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("app.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > statementBudget) {
+            Counter.builder("app.sql.budget.exceeded")
+                    .description("Requests that issued more SQL statements than app.sql.statement-budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} issued {} SQL statements (budget {}); query string: {}", request.getMethod(), uri,
+                    statements, statementBudget, request.getQueryString());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.assignment_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread execution mode. Tomcat request threads and Spring's task executors switch to
+ * virtual threads through {@code spring.threads.virtual.enabled}; when that is on, the Hikari pool
+ * is additionally fronted by a {@link ConnectionAdmissionDataSource} so only as many threads as the
+ * pool can serve compete for connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionAdmissionPostProcessor(
+            @Value("${app.datasource.admission.permits:0}") int permits,
+            @Value("${app.datasource.admission.timeout-ms:30000}") long timeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int limit = permits > 0 ? permits : hikari.getMaximumPoolSize();
+                    return new ConnectionAdmissionDataSource(hikari, limit, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,18 +1,57 @@
 package com.example.assignment_backend.config;
 
+import com.example.assignment_backend.dto.LoanStatus;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor;
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Value("${app.export.timeout:PT1H}")
+    private Duration exportTimeout;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so a refused request costs nothing else; the event stream is long-lived and idle.
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/**")
+                .excludePathPatterns("/api/borrowed-books/stream");
+        registry.addInterceptor(sqlStatementBudgetInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/api/**");
+    }
+
+    // Streaming exports are the only async responses without their own timeout (SSE streams set one),
+    // so the container default would cut a long export off part way.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeout.toMillis());
+    }
+
+    // Accepts ?status=open as well as OPEN.
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, LoanStatus.class,
+                value -> LoanStatus.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+    }
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:3000", "https://localhost:3000", "http://103.59.95.162")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "Retry-After")
                 .allowCredentials(true);
     }
 }
\ No newline at end of file
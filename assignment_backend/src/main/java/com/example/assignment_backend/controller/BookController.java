@@ -1,12 +1,33 @@
 package com.example.assignment_backend.controller;
 
+import com.example.assignment_backend.config.Admission;
+import com.example.assignment_backend.config.RequestClass;
 import com.example.assignment_backend.dto.BookCreateDto;
 import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.dto.BulkImportResultDto;
+import com.example.assignment_backend.dto.DataFormat;
+import com.example.assignment_backend.exception.InvalidFieldsException;
+import com.example.assignment_backend.service.BookImportService;
 import com.example.assignment_backend.service.BookService;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import com.example.assignment_backend.dto.BookAvailabilityDto;
+import com.example.assignment_backend.dto.BookPatchDto;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import com.example.assignment_backend.util.ETags;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.dto.BatchResultDto;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
 
@@ -14,19 +35,71 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/books")
 @RequiredArgsConstructor
 public class BookController {
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
     private final BookService service;
+    private final BookImportService importService;
 
     @GetMapping
     public ResponseEntity<Page<BookResponseDto>> getAllBooks(
-            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<BookResponseDto> books = service.getAllBooks(pageable);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok().eTag(eTag).body(books);
+    }
+
+    // Sparse fieldsets: ?fields=id,name returns only those properties, selected column by column.
+    @GetMapping(params = { "fields", "!after", "!ids" })
+    public ResponseEntity<Page<Map<String, Object>>> getAllBooksFields(
+            @RequestParam String fields,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.getAllBooksFields(fields, pageable));
+    }
+
+    // Opt-in keyset mode: pass an empty `after` for the first page, then the returned nextCursor.
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDto<BookResponseDto>> scrollBooks(
+            @RequestParam String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable) {
+        rejectFields(fields, "after");
+        return ResponseEntity.ok(
+                service.scrollBooks(after, pageable.getSort(), pageable.getPageSize(), estimateTotal));
+    }
+
+    @Admission(RequestClass.POINT_READ)
+    @GetMapping("/availability")
+    public ResponseEntity<List<BookAvailabilityDto>> getAvailability(@RequestParam @Size(max = 500) List<Long> ids) {
+        return ResponseEntity.ok(service.getAvailability(ids));
+    }
+
+    // Batch lookup: ?ids=1,2,3 resolves every id with one query, in request order.
+    @Admission(RequestClass.POINT_READ)
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResultDto<BookResponseDto>> getBooksByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        rejectFields(fields, "ids");
+        return ResponseEntity.ok(service.getByIds(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponseDto> getById(@PathVariable Long id) {
+    public ResponseEntity<BookResponseDto> getById(@PathVariable Long id, WebRequest request) {
+        Optional<String> eTag = service.getETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return service.getById(id)
-                .map(ResponseEntity::ok)
+                .map(book -> ResponseEntity.ok().eTag(ETags.of(book)).body(book))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -35,14 +108,40 @@ public class BookController {
         return ResponseEntity.ok(service.create(dto));
     }
 
+    // Streams a catalog file: text/csv with a header row, or application/x-ndjson with one book per line.
+    @Admission(RequestClass.BULK)
+    @PostMapping(value = "/bulk", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<BulkImportResultDto> bulkImport(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        DataFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                ? DataFormat.CSV
+                : DataFormat.NDJSON;
+        return ResponseEntity.ok(importService.importBooks(body, format));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BookResponseDto> update(@PathVariable Long id, @Valid @RequestBody BookCreateDto dto) {
         return ResponseEntity.ok(service.update(id, dto));
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<BookResponseDto> patch(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BookPatchDto dto) {
+        BookResponseDto book = service.patch(id, ETags.versionOf(ifMatch), dto);
+        return ResponseEntity.ok().eTag(ETags.of(book)).body(book);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Keyset and batch responses are not projected; say so rather than return every field.
+    private static void rejectFields(String fields, String mode) {
+        if (fields != null) {
+            throw new InvalidFieldsException("fields is not supported together with " + mode);
+        }
+    }
 }
@@ -1,38 +1,114 @@
 package com.example.assignment_backend.controller;
 
+import com.example.assignment_backend.config.Admission;
+import com.example.assignment_backend.config.RequestClass;
+import com.example.assignment_backend.exception.InvalidFieldsException;
 import com.example.assignment_backend.service.BorrowedBookService;
+import com.example.assignment_backend.service.LoanEventBroadcaster;
 import com.example.assignment_backend.dto.BorrowedBookCreateDto;
+import com.example.assignment_backend.dto.BorrowedBookFilterDto;
 import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.dto.DataFormat;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import com.example.assignment_backend.dto.BorrowedBookPatchDto;
+import com.example.assignment_backend.util.ETags;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
-import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.format.annotation.DateTimeFormat;
+import com.example.assignment_backend.dto.CursorPageDto;
 
 @RestController
 @RequestMapping("/api/borrowed-books")
 @RequiredArgsConstructor
 public class BorrowedBookController {
     private final BorrowedBookService service;
+    private final LoanEventBroadcaster loanEvents;
 
     @GetMapping
     public ResponseEntity<Page<BorrowedBookResponseDto>> getAllBorrowedBooks(
-            @RequestParam(required = false) String title,
-            @RequestParam(required = false) String memberName,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate borrowDate,
+            @ModelAttribute BorrowedBookFilterDto filter,
+            @RequestParam(defaultValue = "false") boolean rank,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Page<BorrowedBookResponseDto> borrowedBooks = service.getAllBorrowedBooks(filter, rank, pageable);
+        return ResponseEntity.ok().eTag(eTag).body(borrowedBooks);
+    }
+
+    // Sparse fieldsets: ?fields=id,borrowDate,book.title,member.name selects only those columns and joins.
+    @GetMapping(params = { "fields", "!after" })
+    public ResponseEntity<Page<Map<String, Object>>> getAllBorrowedBooksFields(
+            @ModelAttribute BorrowedBookFilterDto filter,
+            @RequestParam(defaultValue = "false") boolean rank,
+            @RequestParam String fields,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.getAllBorrowedBooksFields(filter, rank, fields, pageable));
+    }
+
+    // Opt-in keyset mode: pass an empty `after` for the first page, then the returned nextCursor.
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDto<BorrowedBookResponseDto>> scrollBorrowedBooks(
+            @ModelAttribute BorrowedBookFilterDto filter,
+            @RequestParam String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
             @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<BorrowedBookResponseDto> borrowedBooks = service.getAllBorrowedBooks(title, memberName, borrowDate,
-                pageable);
-        return ResponseEntity.ok(borrowedBooks);
+        rejectFields(fields, "after");
+        return ResponseEntity.ok(service.scrollBorrowedBooks(filter, after, pageable.getSort(),
+                pageable.getPageSize(), estimateTotal));
+    }
+
+    @Admission(RequestClass.BULK)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @ModelAttribute BorrowedBookFilterDto filter,
+            @RequestParam(defaultValue = "NDJSON") DataFormat format) {
+        MediaType contentType = format == DataFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "borrowed-books." + (format == DataFormat.CSV ? "csv" : "ndjson");
+        StreamingResponseBody body = out -> service.exportBorrowedBooks(filter, format, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    // Live loan activity as Server-Sent Events; browsers resume through the Last-Event-ID header.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return loanEvents.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BorrowedBookResponseDto> getById(@PathVariable Long id) {
+    public ResponseEntity<BorrowedBookResponseDto> getById(@PathVariable Long id, WebRequest request) {
+        Optional<String> eTag = service.getETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return service.getById(id)
-                .map(ResponseEntity::ok)
+                .map(borrowedBook -> ResponseEntity.ok().eTag(ETags.of(borrowedBook)).body(borrowedBook))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -48,9 +124,31 @@ public class BorrowedBookController {
         return ResponseEntity.ok(service.update(id, dto));
     }
 
+    @PostMapping("/{id}/return")
+    public ResponseEntity<BorrowedBookResponseDto> returnBook(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate returnDate) {
+        BorrowedBookResponseDto borrowedBook = service.returnBook(id, returnDate);
+        return ResponseEntity.ok().eTag(ETags.of(borrowedBook)).body(borrowedBook);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<BorrowedBookResponseDto> patch(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BorrowedBookPatchDto dto) {
+        BorrowedBookResponseDto borrowedBook = service.patch(id, ETags.versionOf(ifMatch), dto);
+        return ResponseEntity.ok().eTag(ETags.of(borrowedBook)).body(borrowedBook);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Keyset and batch responses are not projected; say so rather than return every field.
+    private static void rejectFields(String fields, String mode) {
+        if (fields != null) {
+            throw new InvalidFieldsException("fields is not supported together with " + mode);
+        }
+    }
 }
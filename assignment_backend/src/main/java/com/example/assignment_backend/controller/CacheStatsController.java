@@ -0,0 +1,20 @@
+package com.example.assignment_backend.controller;
+
+import com.example.assignment_backend.dto.CacheRegionStatsDto;
+import com.example.assignment_backend.service.CacheStatsService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private final CacheStatsService service;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDto>> getRegionStats() {
+        return ResponseEntity.ok(service.getRegionStats());
+    }
+}
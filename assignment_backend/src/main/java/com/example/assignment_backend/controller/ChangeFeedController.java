@@ -0,0 +1,24 @@
+package com.example.assignment_backend.controller;
+
+import com.example.assignment_backend.dto.ChangeFeedDto;
+import com.example.assignment_backend.service.ChangeLogService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+    private final ChangeLogService service;
+
+    // Delta sync: omit `since` to get the current head, then pass each response's nextSince back.
+    @GetMapping
+    public ResponseEntity<ChangeFeedDto> getChanges(
+            @RequestParam(required = false) @Min(0) Long since,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(service.getChanges(since, limit));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.assignment_backend.controller;
+
+import com.example.assignment_backend.config.Admission;
+import com.example.assignment_backend.config.RequestClass;
+import com.example.assignment_backend.dto.BookLoanCountDto;
+import com.example.assignment_backend.dto.CategoryOpenLoansDto;
+import com.example.assignment_backend.dto.DailyLoanCountDto;
+import com.example.assignment_backend.dto.MemberLoanCountDto;
+import com.example.assignment_backend.service.CirculationStatsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class CirculationStatsController {
+    private final CirculationStatsService service;
+
+    @GetMapping("/top-books")
+    public ResponseEntity<List<BookLoanCountDto>> getMostBorrowedBooks(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(service.getMostBorrowedBooks(limit));
+    }
+
+    @GetMapping("/top-members")
+    public ResponseEntity<List<MemberLoanCountDto>> getMostActiveMembers(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(service.getMostActiveMembers(limit));
+    }
+
+    @GetMapping("/open-loans-by-category")
+    public ResponseEntity<List<CategoryOpenLoansDto>> getOpenLoansByCategory() {
+        return ResponseEntity.ok(service.getOpenLoansByCategory());
+    }
+
+    // Defaults to the last 30 days.
+    @GetMapping("/loans-per-day")
+    public ResponseEntity<List<DailyLoanCountDto>> getLoansPerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(service.getLoansPerDay(start, end));
+    }
+
+    @Admission(RequestClass.BULK)
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        service.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,27 @@
 package com.example.assignment_backend.controller;
 
+import com.example.assignment_backend.config.Admission;
+import com.example.assignment_backend.config.RequestClass;
+import com.example.assignment_backend.exception.InvalidFieldsException;
 import com.example.assignment_backend.service.MemberService;
 import com.example.assignment_backend.dto.MemberResponseDto;
 import com.example.assignment_backend.dto.MemberCreateDto;
+import com.example.assignment_backend.dto.MemberPatchDto;
+import com.example.assignment_backend.util.ETags;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.dto.BatchResultDto;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/members")
@@ -18,15 +31,58 @@ public class MemberController {
 
     @GetMapping
     public ResponseEntity<Page<MemberResponseDto>> getAllMembers(
-            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<MemberResponseDto> members = service.getAllMembers(pageable);
-        return ResponseEntity.ok(members);
+        return ResponseEntity.ok().eTag(eTag).body(members);
+    }
+
+    // Sparse fieldsets: ?fields=id,name returns only those properties, selected column by column.
+    @GetMapping(params = { "fields", "!after", "!ids" })
+    public ResponseEntity<Page<Map<String, Object>>> getAllMembersFields(
+            @RequestParam String fields,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        String eTag = service.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.getAllMembersFields(fields, pageable));
+    }
+
+    // Opt-in keyset mode: pass an empty `after` for the first page, then the returned nextCursor.
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDto<MemberResponseDto>> scrollMembers(
+            @RequestParam String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
+            @PageableDefault(size = 10, sort = { "id" }, direction = Sort.Direction.ASC) Pageable pageable) {
+        rejectFields(fields, "after");
+        return ResponseEntity.ok(
+                service.scrollMembers(after, pageable.getSort(), pageable.getPageSize(), estimateTotal));
+    }
+
+    // Batch lookup: ?ids=1,2,3 resolves every id with one query, in request order.
+    @Admission(RequestClass.POINT_READ)
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResultDto<MemberResponseDto>> getMembersByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        rejectFields(fields, "ids");
+        return ResponseEntity.ok(service.getByIds(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MemberResponseDto> getById(@PathVariable Long id) {
+    public ResponseEntity<MemberResponseDto> getById(@PathVariable Long id, WebRequest request) {
+        Optional<String> eTag = service.getETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return service.getById(id)
-                .map(ResponseEntity::ok)
+                .map(member -> ResponseEntity.ok().eTag(ETags.of(member)).body(member))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -40,9 +96,24 @@ public class MemberController {
         return ResponseEntity.ok(service.update(id, dto));
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<MemberResponseDto> patch(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody MemberPatchDto dto) {
+        MemberResponseDto member = service.patch(id, ETags.versionOf(ifMatch), dto);
+        return ResponseEntity.ok().eTag(ETags.of(member)).body(member);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Keyset and batch responses are not projected; say so rather than return every field.
+    private static void rejectFields(String fields, String mode) {
+        if (fields != null) {
+            throw new InvalidFieldsException("fields is not supported together with " + mode);
+        }
+    }
 }
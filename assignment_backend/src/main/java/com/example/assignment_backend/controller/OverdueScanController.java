@@ -0,0 +1,30 @@
+package com.example.assignment_backend.controller;
+
+import com.example.assignment_backend.dto.OverdueScanStatusDto;
+import com.example.assignment_backend.service.OverdueScanService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/overdue-scans")
+@RequiredArgsConstructor
+public class OverdueScanController {
+    private final OverdueScanService service;
+
+    @GetMapping("/latest")
+    public ResponseEntity<OverdueScanStatusDto> getLatest() {
+        return service.getLatestStatus()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Starts (or resumes) a scan in the background; poll /latest for progress.
+    @PostMapping
+    public ResponseEntity<Void> start() {
+        return service.startScan()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.assignment_backend.controller;
+
+import com.example.assignment_backend.dto.SuggestIndexStatsDto;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.SuggestionDto;
+import com.example.assignment_backend.service.SuggestService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+    private final SuggestService service;
+
+    // Without a type, up to `limit` matches are returned for each of BOOK, AUTHOR and MEMBER.
+    @GetMapping
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) SuggestType type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.suggest(q, type, limit));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<SuggestIndexStatsDto>> stats() {
+        return ResponseEntity.ok(service.stats());
+    }
+}
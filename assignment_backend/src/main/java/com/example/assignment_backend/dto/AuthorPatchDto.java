@@ -0,0 +1,15 @@
+package com.example.assignment_backend.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+// Fields left null are not changed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorPatchDto {
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    @Size(max = 255, message = "Name must be at most 255 characters")
+    private String name;
+}
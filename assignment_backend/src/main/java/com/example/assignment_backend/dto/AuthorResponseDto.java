@@ -8,4 +8,5 @@ import lombok.*;
 public class AuthorResponseDto {
     private Long id;
     private String name;
-}
\ No newline at end of file
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package com.example.assignment_backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto<T> {
+    // In the order the ids were requested, duplicates collapsed.
+    private List<T> content;
+    private List<Long> missingIds;
+}
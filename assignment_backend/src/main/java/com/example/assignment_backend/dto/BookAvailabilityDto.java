@@ -0,0 +1,11 @@
+package com.example.assignment_backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAvailabilityDto {
+    private Long bookId;
+    private boolean available;
+}
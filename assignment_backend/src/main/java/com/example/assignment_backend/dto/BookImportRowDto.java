@@ -0,0 +1,17 @@
+package com.example.assignment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportRowDto {
+    private String title;
+    private String category;
+    private Integer publishingYear;
+    // Either an existing author id, or a name that is looked up and created when missing.
+    private Long authorId;
+    private String authorName;
+}
@@ -0,0 +1,12 @@
+package com.example.assignment_backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookLoanCountDto {
+    private Long bookId;
+    private String title;
+    private long loanCount;
+}
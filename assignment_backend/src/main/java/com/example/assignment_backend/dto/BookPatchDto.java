@@ -0,0 +1,22 @@
+package com.example.assignment_backend.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+// Fields left null are not changed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPatchDto {
+    @Pattern(regexp = ".*\\S.*", message = "Title must not be blank")
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+    @Size(max = 100, message = "Category must be at most 100 characters")
+    private String category;
+    private Integer publishingYear;
+
+    @Positive(message = "Author ID must be positive")
+    private Long authorId;
+}
@@ -11,4 +11,5 @@ public class BookResponseDto {
     private String category;
     private Integer publishingYear;
     private AuthorResponseDto author;
-}
\ No newline at end of file
+    private Long version;
+}
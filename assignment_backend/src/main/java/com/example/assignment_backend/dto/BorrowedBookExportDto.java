@@ -0,0 +1,30 @@
+package com.example.assignment_backend.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Flat, unmanaged row of a loan with its book, author and member, read by the export query. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowedBookExportDto {
+    private Long id;
+    private LocalDate borrowDate;
+    private LocalDate returnDate;
+    private Long bookId;
+    private String bookTitle;
+    private String bookCategory;
+    private Integer bookPublishingYear;
+    private Long authorId;
+    private String authorName;
+    private Long memberId;
+    private String memberName;
+    private String memberEmail;
+    private String memberPhone;
+    private Long version;
+    private Long bookVersion;
+    private Long authorVersion;
+    private Long memberVersion;
+}
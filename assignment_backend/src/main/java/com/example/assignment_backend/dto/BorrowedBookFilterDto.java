@@ -0,0 +1,37 @@
+package com.example.assignment_backend.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowedBookFilterDto {
+    private String title;
+    private String memberName;
+    // Matches either the book title or the member name.
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate borrowDate;
+
+    // Inclusive bounds; either side may be omitted.
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate borrowedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate borrowedTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate returnedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate returnedTo;
+
+    private LoanStatus status;
+    private Long bookId;
+    private Long memberId;
+}
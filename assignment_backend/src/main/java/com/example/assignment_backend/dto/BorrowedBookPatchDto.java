@@ -0,0 +1,20 @@
+package com.example.assignment_backend.dto;
+
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import lombok.*;
+
+// Fields left null are not changed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowedBookPatchDto {
+    @Positive(message = "Book ID must be positive")
+    private Long bookId;
+
+    @Positive(message = "Member ID must be positive")
+    private Long memberId;
+
+    private LocalDate borrowDate;
+    private LocalDate returnDate;
+}
@@ -14,4 +14,5 @@ public class BorrowedBookResponseDto {
     private LocalDate returnDate;
     private BookResponseDto book;
     private MemberResponseDto member;
-}
\ No newline at end of file
+    private Long version;
+}
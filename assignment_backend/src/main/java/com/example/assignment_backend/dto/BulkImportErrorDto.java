@@ -0,0 +1,14 @@
+package com.example.assignment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDto {
+    // 1-based line number in the uploaded document, header included.
+    private long row;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.example.assignment_backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long authorsCreated;
+    private long elapsedMillis;
+    private List<BulkImportErrorDto> errors;
+    // True when more rows failed than are listed in `errors`.
+    private boolean errorsTruncated;
+}
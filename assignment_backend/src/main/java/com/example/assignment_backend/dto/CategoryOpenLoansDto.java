@@ -0,0 +1,11 @@
+package com.example.assignment_backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryOpenLoansDto {
+    private String category;
+    private long openLoans;
+}
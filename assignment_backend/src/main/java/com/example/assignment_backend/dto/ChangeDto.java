@@ -0,0 +1,15 @@
+package com.example.assignment_backend.dto;
+
+import java.time.Instant;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDto {
+    private long seq;
+    private ChangeEntityType type;
+    private Long id;
+    private ChangeOperation operation;
+    private Instant changedAt;
+}
@@ -0,0 +1,8 @@
+package com.example.assignment_backend.dto;
+
+public enum ChangeEntityType {
+    AUTHOR,
+    BOOK,
+    MEMBER,
+    BORROWED_BOOK
+}
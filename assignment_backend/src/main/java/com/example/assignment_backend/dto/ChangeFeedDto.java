@@ -0,0 +1,16 @@
+package com.example.assignment_backend.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDto {
+    private List<ChangeDto> changes;
+    // Pass as `since` on the next call.
+    private long nextSince;
+    private boolean hasMore;
+    // Entries after `since` were dropped by retention; reload the lists, then sync from nextSince.
+    private boolean resyncRequired;
+}
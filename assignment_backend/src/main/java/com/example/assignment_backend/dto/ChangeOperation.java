@@ -0,0 +1,6 @@
+package com.example.assignment_backend.dto;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,12 @@
+package com.example.assignment_backend.dto;
+
+import java.time.LocalDate;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyLoanCountDto {
+    private LocalDate day;
+    private long loanCount;
+}
@@ -0,0 +1,6 @@
+package com.example.assignment_backend.dto;
+
+/** Line-oriented formats used by the bulk import and export endpoints. */
+public enum DataFormat {
+    CSV, NDJSON
+}
@@ -0,0 +1,13 @@
+package com.example.assignment_backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanEventDto {
+    private LoanEventType type;
+    private Long id;
+    // The loan as committed; null for DELETED.
+    private BorrowedBookResponseDto loan;
+}
@@ -0,0 +1,8 @@
+package com.example.assignment_backend.dto;
+
+public enum LoanStatus {
+    OPEN,
+    RETURNED,
+    // Open and borrowed more than app.overdue.loan-days ago.
+    OVERDUE
+}
@@ -0,0 +1,12 @@
+package com.example.assignment_backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberLoanCountDto {
+    private Long memberId;
+    private String name;
+    private long loanCount;
+}
@@ -0,0 +1,19 @@
+package com.example.assignment_backend.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+// Fields left null are not changed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPatchDto {
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    @Size(max = 255, message = "Name must be at most 255 characters")
+    private String name;
+    @Size(max = 255, message = "Email must be at most 255 characters")
+    private String email;
+    @Size(max = 20, message = "Phone must be at most 20 characters")
+    private String phone;
+}
@@ -12,4 +12,5 @@ public class MemberResponseDto {
     private String name;
     private String email;
     private String phone;
-}
\ No newline at end of file
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.example.assignment_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueScanSliceDto {
+    private Integer sliceNo;
+    private LocalDate toDate;
+    private LocalDate lastBorrowDate;
+    private long scanned;
+    private long notified;
+    private Instant completedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.assignment_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueScanStatusDto {
+    private Long runId;
+    private LocalDate cutoffDate;
+    private Instant startedAt;
+    private Instant completedAt;
+    private boolean running;
+    private long scanned;
+    private long notified;
+    private List<OverdueScanSliceDto> slices;
+}
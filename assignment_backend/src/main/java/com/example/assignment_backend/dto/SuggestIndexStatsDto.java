@@ -0,0 +1,16 @@
+package com.example.assignment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestIndexStatsDto {
+    private SuggestType type;
+    private int entries;
+    private int tokens;
+    private long estimatedBytes;
+    private long estimatedBytesPerMillionEntries;
+}
@@ -0,0 +1,5 @@
+package com.example.assignment_backend.dto;
+
+public enum SuggestType {
+    AUTHOR, BOOK, MEMBER
+}
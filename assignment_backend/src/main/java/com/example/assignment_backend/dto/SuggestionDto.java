@@ -0,0 +1,14 @@
+package com.example.assignment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private SuggestType type;
+    private Long id;
+    private String label;
+}
@@ -12,7 +12,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString(exclude = { "book", "member" })
-@EqualsAndHashCode(exclude = { "id", "book", "member" })
+@EqualsAndHashCode(exclude = { "id", "book", "member", "version" })
 public class BorrowedBook {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,4 +29,6 @@ public class BorrowedBook {
     private LocalDate borrowDate;
 
     private LocalDate returnDate;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,30 @@
+package com.example.assignment_backend.entity;
+
+import com.example.assignment_backend.dto.ChangeEntityType;
+import com.example.assignment_backend.dto.ChangeOperation;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import org.hibernate.annotations.Immutable;
+
+/** A change feed entry; written by {@code ChangeLogWriter} with native statements, read-only here. */
+@Entity
+@Immutable
+@Table(name = "change_log")
+@Getter
+@NoArgsConstructor
+@ToString
+public class ChangeLogEntry {
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeEntityType entityType;
+
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeOperation operation;
+
+    private Instant changedAt;
+}
@@ -2,25 +2,32 @@ package com.example.assignment_backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AccessLevel;
 
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
 @Table(name = "members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "members")
 @Getter
 @Setter(AccessLevel.PROTECTED)
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
-@EqualsAndHashCode(exclude = "id")
+@EqualsAndHashCode(exclude = { "id", "version" })
 public class Member {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "members_id_seq")
+    @SequenceGenerator(name = "members_id_seq", sequenceName = "members_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
     private String name;
     private String email;
     private String phone;
+    @Version
+    private Long version;
 }
\ No newline at end of file
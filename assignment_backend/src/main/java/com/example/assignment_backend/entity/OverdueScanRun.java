@@ -0,0 +1,31 @@
+package com.example.assignment_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.AccessLevel;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** One pass of the overdue-loan scanner over loans borrowed on or before {@code cutoffDate}. */
+@Entity
+@Table(name = "overdue_scan_runs")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OverdueScanRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate cutoffDate;
+
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    public void complete(Instant at) {
+        this.completedAt = at;
+    }
+}
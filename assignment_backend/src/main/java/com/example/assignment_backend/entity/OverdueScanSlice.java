@@ -0,0 +1,51 @@
+package com.example.assignment_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.AccessLevel;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A borrow_date range of an {@link OverdueScanRun}, scanned by one worker. The range starts after the
+ * keyset checkpoint {@code (lastBorrowDate, lastId)} and ends at {@code toDate} inclusive.
+ */
+@Entity
+@Table(name = "overdue_scan_slices")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OverdueScanSlice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long runId;
+
+    private Integer sliceNo;
+
+    private LocalDate toDate;
+
+    private LocalDate lastBorrowDate;
+
+    private Long lastId;
+
+    private Long scanned;
+
+    private Long notified;
+
+    private Instant completedAt;
+
+    public void advance(LocalDate lastBorrowDate, Long lastId, long scanned, long notified) {
+        this.lastBorrowDate = lastBorrowDate;
+        this.lastId = lastId;
+        this.scanned += scanned;
+        this.notified += notified;
+    }
+
+    public void complete(Instant at) {
+        this.completedAt = at;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.assignment_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Folded base of a per-table change counter maintained by database triggers (see V4 and V10 migrations);
+ * only TableVersionRepository.foldDeltas writes it.
+ */
+@Entity
+@Immutable
+@Table(name = "table_versions")
+@Getter
+@NoArgsConstructor
+@ToString
+public class TableVersion {
+    @Id
+    private String tableName;
+    private Long version;
+}
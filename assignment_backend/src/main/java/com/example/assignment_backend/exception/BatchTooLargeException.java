@@ -0,0 +1,7 @@
+package com.example.assignment_backend.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.assignment_backend.exception;
+
+public class BookUnavailableException extends RuntimeException {
+    public BookUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.assignment_backend.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DuplicateValueException extends RuntimeException {
+    private final String field;
+
+    public DuplicateValueException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+}
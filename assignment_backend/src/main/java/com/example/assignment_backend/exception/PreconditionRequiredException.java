@@ -0,0 +1,7 @@
+package com.example.assignment_backend.exception;
+
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
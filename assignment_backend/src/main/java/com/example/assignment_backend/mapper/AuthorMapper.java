@@ -7,6 +7,6 @@ import org.springframework.stereotype.Component;
 @Component
 public class AuthorMapper {
     public AuthorResponseDto toAuthorResponseDto(Author author) {
-        return new AuthorResponseDto(author.getId(), author.getName());
+        return new AuthorResponseDto(author.getId(), author.getName(), author.getVersion());
     }
 }
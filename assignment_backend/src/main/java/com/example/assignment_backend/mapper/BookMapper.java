@@ -12,6 +12,6 @@ public class BookMapper {
 
     public BookResponseDto toBookResponseDto(Book book) {
         return new BookResponseDto(book.getId(), book.getTitle(), book.getCategory(), book.getPublishingYear(),
-                authorMapper.toAuthorResponseDto(book.getAuthor()));
+                authorMapper.toAuthorResponseDto(book.getAuthor()), book.getVersion());
     }
 }
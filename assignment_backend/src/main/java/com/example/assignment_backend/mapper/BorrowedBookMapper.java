@@ -0,0 +1,34 @@
+package com.example.assignment_backend.mapper;
+
+import com.example.assignment_backend.dto.AuthorResponseDto;
+import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.dto.BorrowedBookExportDto;
+import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.dto.MemberResponseDto;
+import com.example.assignment_backend.entity.BorrowedBook;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BorrowedBookMapper {
+    private final BookMapper bookMapper;
+    private final MemberMapper memberMapper;
+
+    public BorrowedBookResponseDto toBorrowedBookResponseDto(BorrowedBook borrowedBook) {
+        return new BorrowedBookResponseDto(borrowedBook.getId(), borrowedBook.getBorrowDate(),
+                borrowedBook.getReturnDate(), bookMapper.toBookResponseDto(borrowedBook.getBook()),
+                memberMapper.toMemberResponseDto(borrowedBook.getMember()), borrowedBook.getVersion());
+    }
+
+    public BorrowedBookResponseDto toBorrowedBookResponseDto(BorrowedBookExportDto row) {
+        return new BorrowedBookResponseDto(row.getId(), row.getBorrowDate(), row.getReturnDate(),
+                new BookResponseDto(row.getBookId(), row.getBookTitle(), row.getBookCategory(),
+                        row.getBookPublishingYear(),
+                        new AuthorResponseDto(row.getAuthorId(), row.getAuthorName(), row.getAuthorVersion()),
+                        row.getBookVersion()),
+                new MemberResponseDto(row.getMemberId(), row.getMemberName(), row.getMemberEmail(),
+                        row.getMemberPhone(), row.getMemberVersion()),
+                row.getVersion());
+    }
+}
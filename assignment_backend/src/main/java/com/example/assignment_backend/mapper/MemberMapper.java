@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class MemberMapper {
     public MemberResponseDto toMemberResponseDto(Member member) {
-        return new MemberResponseDto(member.getId(), member.getName(), member.getEmail(), member.getPhone());
+        return new MemberResponseDto(member.getId(), member.getName(), member.getEmail(), member.getPhone(),
+                member.getVersion());
     }
 }
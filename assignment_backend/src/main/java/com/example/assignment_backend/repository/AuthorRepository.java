@@ -2,6 +2,27 @@ package com.example.assignment_backend.repository;
 
 import com.example.assignment_backend.entity.Author;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 
-public interface AuthorRepository extends JpaRepository<Author, Long> {
-}
\ No newline at end of file
+public interface AuthorRepository extends JpaRepository<Author, Long>, JpaSpecificationExecutor<Author> {
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = CAST('authors' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    @Query("select a.id as id, a.name as label from Author a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LabelView> streamLabels();
+
+    @Query("select cast(a.version as String) from Author a where a.id = :id")
+    Optional<String> findVersionKeyById(Long id);
+
+    List<Author> findByNameIn(Collection<String> names);
+}
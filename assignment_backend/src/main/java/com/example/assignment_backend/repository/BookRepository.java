@@ -1,7 +1,42 @@
 package com.example.assignment_backend.repository;
 
 import com.example.assignment_backend.entity.Book;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
-}
\ No newline at end of file
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    // Every book response embeds its author; join it into the page query.
+    @Override
+    @EntityGraph(attributePaths = "author")
+    List<Book> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Page<Book> findAll(Pageable pageable);
+
+    @Query("select b from Book b join fetch b.author where b.id in :ids")
+    List<Book> findAllWithAuthorByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = CAST('books' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    @Query("select b.id as id, b.title as label from Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LabelView> streamLabels();
+
+    @Query("select concat(cast(b.version as String), '.', cast(a.version as String)) "
+            + "from Book b join b.author a where b.id = :id")
+    Optional<String> findVersionKeyById(Long id);
+}
@@ -0,0 +1,15 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.dto.BorrowedBookExportDto;
+import com.example.assignment_backend.entity.BorrowedBook;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BorrowedBookExportRepository {
+
+    /**
+     * Streams matching loans in id order through a server-side cursor. Rows are constructor
+     * projections, so nothing is attached to the persistence context; close the stream when done.
+     */
+    Stream<BorrowedBookExportDto> streamForExport(Specification<BorrowedBook> spec, int fetchSize);
+}
@@ -0,0 +1,51 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.dto.BorrowedBookExportDto;
+import com.example.assignment_backend.entity.Author;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+@RequiredArgsConstructor
+class BorrowedBookExportRepositoryImpl implements BorrowedBookExportRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<BorrowedBookExportDto> streamForExport(Specification<BorrowedBook> spec, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BorrowedBookExportDto> query = criteriaBuilder.createQuery(BorrowedBookExportDto.class);
+        Root<BorrowedBook> root = query.from(BorrowedBook.class);
+        Join<BorrowedBook, Book> book = root.join("book");
+        Join<Book, Author> author = book.join("author");
+        Join<BorrowedBook, Member> member = root.join("member");
+        query.select(criteriaBuilder.construct(BorrowedBookExportDto.class,
+                root.get("id"), root.get("borrowDate"), root.get("returnDate"),
+                book.get("id"), book.get("title"), book.get("category"), book.get("publishingYear"),
+                author.get("id"), author.get("name"),
+                member.get("id"), member.get("name"), member.get("email"), member.get("phone"),
+                root.get("version"), book.get("version"), author.get("version"), member.get("version")));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+}
@@ -1,9 +1,50 @@
 package com.example.assignment_backend.repository;
 
 import com.example.assignment_backend.entity.BorrowedBook;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
 
-public interface BorrowedBookRepository
-        extends JpaRepository<BorrowedBook, Long>, JpaSpecificationExecutor<BorrowedBook> {
-}
\ No newline at end of file
+public interface BorrowedBookRepository extends JpaRepository<BorrowedBook, Long>,
+        JpaSpecificationExecutor<BorrowedBook>, BorrowedBookExportRepository {
+
+    // The listing paths map book, book.author and member into the response, so fetch them in
+    // the same query instead of initializing the lazy associations row by row.
+    @Override
+    @EntityGraph(attributePaths = { "book", "book.author", "member" })
+    Page<BorrowedBook> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "book", "book.author", "member" })
+    Page<BorrowedBook> findAll(Specification<BorrowedBook> spec, Pageable pageable);
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = CAST('borrowed_books' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    @Query("select concat(cast(bb.version as String), '.', cast(b.version as String), '.', "
+            + "cast(a.version as String), '.', cast(m.version as String)) "
+            + "from BorrowedBook bb join bb.book b join b.author a join bb.member m where bb.id = :id")
+    Optional<String> findVersionKeyById(Long id);
+
+    // Answered from the partial unique index on open loans (index-only scan).
+    @Query("select bb.book.id from BorrowedBook bb where bb.returnDate is null and bb.book.id in :bookIds")
+    List<Long> findBookIdsOnLoan(Collection<Long> bookIds);
+
+    // Reads the first entry of the partial open-loan borrow_date index.
+    @Query("select min(bb.borrowDate) from BorrowedBook bb where bb.returnDate is null")
+    Optional<LocalDate> findOldestOpenBorrowDate();
+
+    @Modifying
+    @Query("update BorrowedBook bb set bb.returnDate = :returnDate, bb.version = bb.version + 1 "
+            + "where bb.id = :id and bb.returnDate is null")
+    int markReturned(Long id, LocalDate returnDate);
+}
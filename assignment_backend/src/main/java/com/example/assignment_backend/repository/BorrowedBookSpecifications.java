@@ -1,31 +1,46 @@
 package com.example.assignment_backend.repository;
 
+import com.example.assignment_backend.entity.Book;
 import com.example.assignment_backend.entity.BorrowedBook;
+import com.example.assignment_backend.entity.Member;
+import com.example.assignment_backend.dto.LoanStatus;
 import org.springframework.data.jpa.domain.Specification;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.time.LocalDate;
 
 public class BorrowedBookSpecifications {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    // Filters are semi-joins against books/members so the trigram index on lower(title) / lower(name)
+    // picks the matching rows first, followed by an index lookup of their loans.
     public static Specification<BorrowedBook> hasTitle(String title) {
         return (root, query, criteriaBuilder) -> {
-            if (title == null || title.trim().isEmpty()) {
+            if (isBlank(title)) {
                 return null;
             }
-            return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.join("book", JoinType.LEFT).get("title")),
-                    "%" + title.toLowerCase().trim() + "%");
+            Subquery<Long> books = query.subquery(Long.class);
+            Root<Book> book = books.from(Book.class);
+            books.select(book.get("id")).where(criteriaBuilder.like(
+                    criteriaBuilder.lower(book.get("title")), containsPattern(title), LIKE_ESCAPE));
+            return root.get("book").get("id").in(books);
         };
     }
 
     public static Specification<BorrowedBook> hasMemberName(String memberName) {
         return (root, query, criteriaBuilder) -> {
-            if (memberName == null || memberName.trim().isEmpty()) {
+            if (isBlank(memberName)) {
                 return null;
             }
-            return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.join("member", JoinType.LEFT).get("name")),
-                    "%" + memberName.toLowerCase().trim() + "%");
+            Subquery<Long> members = query.subquery(Long.class);
+            Root<Member> member = members.from(Member.class);
+            members.select(member.get("id")).where(criteriaBuilder.like(
+                    criteriaBuilder.lower(member.get("name")), containsPattern(memberName), LIKE_ESCAPE));
+            return root.get("member").get("id").in(members);
         };
     }
 
@@ -34,4 +49,94 @@ public class BorrowedBookSpecifications {
             return borrowDate != null ? criteriaBuilder.equal(root.get("borrowDate"), borrowDate) : null;
         };
     }
-}
\ No newline at end of file
+
+    public static Specification<BorrowedBook> hasBookId(Long bookId) {
+        return (root, query, criteriaBuilder) -> {
+            return bookId != null ? criteriaBuilder.equal(root.get("book").get("id"), bookId) : null;
+        };
+    }
+
+    public static Specification<BorrowedBook> hasMemberId(Long memberId) {
+        return (root, query, criteriaBuilder) -> {
+            return memberId != null ? criteriaBuilder.equal(root.get("member").get("id"), memberId) : null;
+        };
+    }
+
+    // Inclusive on both ends; a null bound is open.
+    public static Specification<BorrowedBook> borrowedBetween(LocalDate from, LocalDate to) {
+        return (root, query, criteriaBuilder) -> between(criteriaBuilder, root.get("borrowDate"), from, to);
+    }
+
+    // Inclusive on both ends; a null bound is open. Open loans never match.
+    public static Specification<BorrowedBook> returnedBetween(LocalDate from, LocalDate to) {
+        return (root, query, criteriaBuilder) -> between(criteriaBuilder, root.get("returnDate"), from, to);
+    }
+
+    /** OVERDUE means open and borrowed before {@code overdueBefore}. */
+    public static Specification<BorrowedBook> hasStatus(LoanStatus status, LocalDate overdueBefore) {
+        return (root, query, criteriaBuilder) -> {
+            if (status == null) {
+                return null;
+            }
+            return switch (status) {
+                case OPEN -> criteriaBuilder.isNull(root.get("returnDate"));
+                case RETURNED -> criteriaBuilder.isNotNull(root.get("returnDate"));
+                case OVERDUE -> criteriaBuilder.and(criteriaBuilder.isNull(root.get("returnDate")),
+                        criteriaBuilder.lessThan(root.get("borrowDate"), overdueBefore));
+            };
+        };
+    }
+
+    /**
+     * Orders results by pg_trgm similarity to the given terms, best match first. Adds no predicate;
+     * the caller must pass an unsorted pageable, otherwise the pageable's sort replaces this ordering.
+     */
+    public static Specification<BorrowedBook> orderByRelevance(String title, String memberName) {
+        return (root, query, criteriaBuilder) -> {
+            if (Long.class.equals(query.getResultType()) || (isBlank(title) && isBlank(memberName))) {
+                return null;
+            }
+            Expression<Double> score = null;
+            if (!isBlank(title)) {
+                score = similarity(criteriaBuilder, criteriaBuilder.lower(root.join("book").get("title")), title);
+            }
+            if (!isBlank(memberName)) {
+                Expression<Double> memberScore = similarity(criteriaBuilder,
+                        criteriaBuilder.lower(root.join("member").get("name")), memberName);
+                score = score == null ? memberScore
+                        : criteriaBuilder.function("greatest", Double.class, score, memberScore);
+            }
+            query.orderBy(criteriaBuilder.desc(score), criteriaBuilder.asc(root.get("id")));
+            return null;
+        };
+    }
+
+    private static Predicate between(CriteriaBuilder criteriaBuilder, Expression<LocalDate> date, LocalDate from,
+            LocalDate to) {
+        if (from != null && to != null) {
+            return criteriaBuilder.between(date, from, to);
+        }
+        if (from != null) {
+            return criteriaBuilder.greaterThanOrEqualTo(date, from);
+        }
+        return to != null ? criteriaBuilder.lessThanOrEqualTo(date, to) : null;
+    }
+
+    private static Expression<Double> similarity(CriteriaBuilder criteriaBuilder, Expression<String> column,
+            String term) {
+        return criteriaBuilder.function("similarity", Double.class, column,
+                criteriaBuilder.literal(term.toLowerCase().trim()));
+    }
+
+    private static String containsPattern(String term) {
+        String escaped = term.toLowerCase().trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
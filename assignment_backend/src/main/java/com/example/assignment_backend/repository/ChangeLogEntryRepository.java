@@ -0,0 +1,18 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.entity.ChangeLogEntry;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ChangeLogEntryRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeq(long since, Limit limit);
+
+    @Query(value = "SELECT horizon FROM change_log_head WHERE id = 1", nativeQuery = true)
+    long findHorizon();
+
+    @Query(value = "SELECT seq FROM change_log_head WHERE id = 1", nativeQuery = true)
+    long findHeadSeq();
+}
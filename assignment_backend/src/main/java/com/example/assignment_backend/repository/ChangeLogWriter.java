@@ -0,0 +1,114 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.dto.ChangeEntityType;
+import com.example.assignment_backend.dto.ChangeOperation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.Instant;
+import java.util.List;
+import java.util.StringJoiner;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Native writes to the change log. Writers append to {@code change_log_pending}; {@link #sequence()}
+ * numbers committed entries into {@code change_log}. See the V8 and V11 migrations.
+ */
+@Repository
+public class ChangeLogWriter {
+    // Rows per INSERT; three bind parameters each.
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Appends the transaction's changes as pending entries, one multi-row INSERT per
+     * {@value #MAX_ROWS_PER_STATEMENT} changes. Takes no lock another writer waits for; the entries
+     * get their feed sequence numbers once the transaction has committed.
+     */
+    public void append(List<Change> changes) {
+        for (int from = 0; from < changes.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Change> batch = changes.subList(from, Math.min(changes.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringJoiner values = new StringJoiner(", ");
+            for (int i = 0; i < batch.size(); i++) {
+                values.add("(:t" + i + ", :i" + i + ", :o" + i + ", clock_timestamp())");
+            }
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO change_log_pending (entity_type, entity_id, operation, changed_at) VALUES "
+                            + values);
+            for (int i = 0; i < batch.size(); i++) {
+                Change change = batch.get(i);
+                insert.setParameter("t" + i, change.type().name())
+                        .setParameter("i" + i, change.id())
+                        .setParameter("o" + i, change.operation().name());
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves the pending entries of every transaction older than the oldest one still running into the
+     * change log, numbered after the head in transaction order, and advances the head. Returns the
+     * number of entries sequenced; 0 also when another sequencer or compaction holds the head.
+     */
+    public long sequence() {
+        Number sequenced = (Number) entityManager.createNativeQuery("""
+                WITH head AS (
+                    SELECT seq FROM change_log_head WHERE id = 1 FOR UPDATE SKIP LOCKED
+                ), ready AS (
+                    DELETE FROM change_log_pending p USING head
+                    WHERE p.xid < pg_snapshot_xmin(pg_current_snapshot())
+                    RETURNING p.id, p.xid, p.entity_type, p.entity_id, p.operation, p.changed_at
+                ), inserted AS (
+                    INSERT INTO change_log (seq, entity_type, entity_id, operation, changed_at)
+                    SELECT head.seq + row_number() OVER (ORDER BY ready.xid, ready.id), ready.entity_type,
+                           ready.entity_id, ready.operation, ready.changed_at
+                    FROM ready, head
+                    RETURNING seq
+                ), advanced AS (
+                    UPDATE change_log_head SET seq = (SELECT max(seq) FROM inserted)
+                    WHERE id = 1 AND EXISTS (SELECT 1 FROM inserted)
+                )
+                SELECT count(*) FROM inserted
+                """)
+                .getSingleResult();
+        return sequenced.longValue();
+    }
+
+    /** Drops up to {@code limit} entries older than {@code cutoff} and raises the horizon past them. */
+    public long dropExpired(Instant cutoff, int limit) {
+        Number dropped = (Number) entityManager.createNativeQuery("""
+                WITH candidates AS (
+                    SELECT seq FROM change_log WHERE changed_at < :cutoff ORDER BY seq LIMIT :limit
+                ), dropped AS (
+                    DELETE FROM change_log WHERE seq IN (SELECT seq FROM candidates) RETURNING seq
+                ), horizon AS (
+                    UPDATE change_log_head SET horizon = GREATEST(horizon, (SELECT max(seq) FROM dropped))
+                    WHERE id = 1 AND EXISTS (SELECT 1 FROM dropped)
+                )
+                SELECT count(*) FROM dropped
+                """)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getSingleResult();
+        return dropped.longValue();
+    }
+
+    /** Drops entries in {@code (fromSeq, toSeq]} that a later entry for the same entity supersedes. */
+    public int dropSuperseded(long fromSeq, long toSeq) {
+        return entityManager.createNativeQuery("""
+                DELETE FROM change_log c
+                WHERE c.seq > :fromSeq AND c.seq <= :toSeq
+                  AND EXISTS (SELECT 1 FROM change_log later
+                              WHERE later.entity_type = c.entity_type AND later.entity_id = c.entity_id
+                                AND later.seq > c.seq)
+                """)
+                .setParameter("fromSeq", fromSeq)
+                .setParameter("toSeq", toSeq)
+                .executeUpdate();
+    }
+
+    public record Change(ChangeEntityType type, Long id, ChangeOperation operation) {
+    }
+}
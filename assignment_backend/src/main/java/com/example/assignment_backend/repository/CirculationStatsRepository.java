@@ -0,0 +1,84 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.dto.BookLoanCountDto;
+import com.example.assignment_backend.dto.CategoryOpenLoansDto;
+import com.example.assignment_backend.dto.DailyLoanCountDto;
+import com.example.assignment_backend.dto.MemberLoanCountDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the circulation rollups that the V6 triggers keep current in the same transaction as every
+ * loan write. Top-k reads walk the {@code (loan_count DESC, id)} indexes, so their cost depends on
+ * {@code limit}, not on the size of the loan history.
+ */
+@Repository
+public class CirculationStatsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<BookLoanCountDto> findMostBorrowedBooks(int limit) {
+        return rows("SELECT s.book_id, b.title, s.loan_count FROM book_loan_stats s "
+                + "JOIN books b ON b.id = s.book_id WHERE s.loan_count > 0 "
+                + "ORDER BY s.loan_count DESC, s.book_id LIMIT :limit", limit)
+                .stream()
+                .map(row -> new BookLoanCountDto(toLong(row[0]), (String) row[1], toLong(row[2])))
+                .toList();
+    }
+
+    public List<MemberLoanCountDto> findMostActiveMembers(int limit) {
+        return rows("SELECT s.member_id, m.name, s.loan_count FROM member_loan_stats s "
+                + "JOIN members m ON m.id = s.member_id WHERE s.loan_count > 0 "
+                + "ORDER BY s.loan_count DESC, s.member_id LIMIT :limit", limit)
+                .stream()
+                .map(row -> new MemberLoanCountDto(toLong(row[0]), (String) row[1], toLong(row[2])))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<CategoryOpenLoansDto> findOpenLoansByCategory() {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT category, open_count FROM category_open_loans WHERE open_count > 0 ORDER BY category")
+                .getResultList();
+        // '' is how the rollup keys books without a category
+        return rows.stream()
+                .map(row -> new CategoryOpenLoansDto(((String) row[0]).isEmpty() ? null : (String) row[0],
+                        toLong(row[1])))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<DailyLoanCountDto> findLoansPerDay(LocalDate from, LocalDate to) {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT day, loan_count FROM daily_loan_stats WHERE day BETWEEN :from AND :to AND loan_count > 0 "
+                        + "ORDER BY day")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new DailyLoanCountDto(toLocalDate(row[0]), toLong(row[1])))
+                .toList();
+    }
+
+    public void rebuild() {
+        entityManager.createNativeQuery("SELECT rebuild_circulation_stats()").getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> rows(String sql, int limit) {
+        return entityManager.createNativeQuery(sql).setParameter("limit", limit).getResultList();
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof LocalDate date ? date : ((Date) value).toLocalDate();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.exception.InvalidFieldsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Sparse fieldsets for list endpoints. {@code fields} is a comma-separated list of response
+ * properties, nested ones dotted ({@code id,borrowDate,book.title,member.name}); naming an
+ * association ({@code book}) selects its plain columns. The query selects exactly those columns and
+ * joins only the associations they live on, and each row comes back as nested maps shaped like the
+ * full response. The root {@code id} is always included.
+ */
+@Repository
+public class FieldProjections {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> Page<Map<String, Object>> findPage(Class<T> type, String fields, Specification<T> spec,
+            Pageable pageable) {
+        List<String> paths = resolve(entityManager.getMetamodel().entity(type), fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            int dot = path.lastIndexOf('.');
+            From<?, ?> from = dot < 0 ? root : join(root, path.substring(0, dot), joins);
+            selections.add(from.get(path.substring(dot + 1)));
+        }
+        query.multiselect(selections);
+        // A specification may already have ordered the query (relevance ranking).
+        if (query.getOrderList().isEmpty() && pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+        List<Map<String, Object>> content = rows.stream().map(row -> toNestedMap(row, paths)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(type, spec));
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query.select(cb.count(root))).getSingleResult();
+    }
+
+    // Reuses a join the specification already made; otherwise left-joins, so a missing association
+    // drops nothing but its own columns.
+    private static From<?, ?> join(Root<?> root, String associationPath, Map<String, From<?, ?>> joins) {
+        From<?, ?> from = joins.get(associationPath);
+        if (from != null) {
+            return from;
+        }
+        from = root;
+        for (String attribute : associationPath.split("\\.")) {
+            From<?, ?> parent = from;
+            from = parent.getJoins().stream()
+                    .filter(existing -> existing.getAttribute().getName().equals(attribute))
+                    .<From<?, ?>>map(existing -> existing)
+                    .findFirst()
+                    .orElseGet(() -> parent.join(attribute, JoinType.LEFT));
+        }
+        joins.put(associationPath, from);
+        return from;
+    }
+
+    private static List<String> resolve(EntityType<?> entity, String fields) {
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add("id");
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            ManagedType<?> type = entity;
+            String[] segments = path.split("\\.");
+            for (int i = 0; i < segments.length; i++) {
+                Attribute<?, ?> attribute = singularAttribute(type, segments[i], path);
+                boolean last = i == segments.length - 1;
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                    if (!last) {
+                        throw new InvalidFieldsException("unknown field: " + path);
+                    }
+                    paths.add(path);
+                } else {
+                    type = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+                    if (last) {
+                        paths.addAll(basicAttributes(type, path));
+                    }
+                }
+            }
+        }
+        return List.copyOf(paths);
+    }
+
+    private static Attribute<?, ?> singularAttribute(ManagedType<?> type, String name, String path) {
+        return type.getSingularAttributes().stream()
+                .filter(attribute -> attribute.getName().equals(name))
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                        || attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE)
+                .findFirst()
+                .orElseThrow(() -> new InvalidFieldsException("unknown field: " + path));
+    }
+
+    private static List<String> basicAttributes(ManagedType<?> type, String prefix) {
+        return type.getSingularAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .map(attribute -> prefix + "." + attribute.getName())
+                .sorted()
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toNestedMap(Tuple row, List<String> paths) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String[] segments = paths.get(i).split("\\.");
+            Map<String, Object> target = result;
+            for (int depth = 0; depth < segments.length - 1; depth++) {
+                target = (Map<String, Object>) target.computeIfAbsent(segments[depth], key -> new LinkedHashMap<>());
+            }
+            target.put(segments[segments.length - 1], row.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.assignment_backend.repository;
+
+/** Id and display label of a book, author or member, used to build the typeahead index. */
+public interface LabelView {
+    Long getId();
+
+    String getLabel();
+}
@@ -2,6 +2,23 @@ package com.example.assignment_backend.repository;
 
 import com.example.assignment_backend.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 
-public interface MemberRepository extends JpaRepository<Member, Long> {
-}
\ No newline at end of file
+public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member> {
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = CAST('members' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    @Query("select m.id as id, m.name as label from Member m")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LabelView> streamLabels();
+
+    @Query("select cast(m.version as String) from Member m where m.id = :id")
+    Optional<String> findVersionKeyById(Long id);
+}
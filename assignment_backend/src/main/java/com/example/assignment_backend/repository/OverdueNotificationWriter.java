@@ -0,0 +1,60 @@
+package com.example.assignment_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the next keyset chunk of open loans and inserts their overdue notifications in one
+ * statement. The chunk is an index range scan on {@code idx_borrowed_books_open_borrow_date};
+ * loans are only read, so the scan takes no locks that online loan updates would wait on.
+ */
+@Repository
+public class OverdueNotificationWriter {
+    private static final String CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT id, book_id, member_id, borrow_date FROM borrowed_books
+                WHERE return_date IS NULL AND (borrow_date, id) > (:lastBorrowDate, :lastId)
+                  AND borrow_date <= :toDate
+                ORDER BY borrow_date, id
+                LIMIT :limit
+            ), notified AS (
+                INSERT INTO overdue_notifications
+                    (borrowed_book_id, member_id, book_id, borrow_date, due_date, run_id)
+                SELECT id, member_id, book_id, borrow_date, borrow_date + :loanDays, :runId FROM chunk
+                ON CONFLICT (borrowed_book_id) DO NOTHING
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM chunk), (SELECT count(*) FROM notified), last.borrow_date, last.id
+            FROM (SELECT 1) one
+            LEFT JOIN (SELECT borrow_date, id FROM chunk ORDER BY borrow_date DESC, id DESC LIMIT 1) last ON true
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** @param lastBorrowDate with {@code lastId}, the exclusive keyset position to continue after */
+    public Chunk writeChunk(Long runId, int loanDays, LocalDate lastBorrowDate, Long lastId, LocalDate toDate,
+            int limit) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(CHUNK_SQL)
+                .setParameter("lastBorrowDate", lastBorrowDate)
+                .setParameter("lastId", lastId)
+                .setParameter("toDate", toDate)
+                .setParameter("limit", limit)
+                .setParameter("loanDays", loanDays)
+                .setParameter("runId", runId)
+                .getSingleResult();
+        long scanned = ((Number) row[0]).longValue();
+        long notified = ((Number) row[1]).longValue();
+        if (scanned == 0) {
+            return new Chunk(0, 0, lastBorrowDate, lastId);
+        }
+        LocalDate last = row[2] instanceof LocalDate date ? date : ((Date) row[2]).toLocalDate();
+        return new Chunk(scanned, notified, last, ((Number) row[3]).longValue());
+    }
+
+    public record Chunk(long scanned, long notified, LocalDate lastBorrowDate, Long lastId) {
+    }
+}
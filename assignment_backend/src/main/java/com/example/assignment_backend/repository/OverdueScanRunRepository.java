@@ -0,0 +1,12 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.entity.OverdueScanRun;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OverdueScanRunRepository extends JpaRepository<OverdueScanRun, Long> {
+
+    Optional<OverdueScanRun> findFirstByOrderByIdDesc();
+
+    Optional<OverdueScanRun> findFirstByCompletedAtIsNullOrderByIdDesc();
+}
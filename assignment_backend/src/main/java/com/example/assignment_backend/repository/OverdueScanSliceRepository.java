@@ -0,0 +1,19 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.entity.OverdueScanSlice;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OverdueScanSliceRepository extends JpaRepository<OverdueScanSlice, Long> {
+
+    List<OverdueScanSlice> findByRunIdOrderBySliceNo(Long runId);
+
+    // Held for one chunk, so two scanners never process the same slice checkpoint concurrently.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from OverdueScanSlice s where s.id = :id")
+    Optional<OverdueScanSlice> findForUpdate(Long id);
+}
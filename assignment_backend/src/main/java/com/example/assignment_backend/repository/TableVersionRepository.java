@@ -0,0 +1,28 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.entity.TableVersion;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    // Folded base plus the deltas not folded yet (V10 migration).
+    @Query(value = "SELECT (SELECT coalesce(sum(version), 0) FROM table_versions WHERE table_name IN (:tableNames))"
+            + " + (SELECT count(*) FROM table_version_deltas WHERE table_name IN (:tableNames))", nativeQuery = true)
+    long sumVersions(Collection<String> tableNames);
+
+    /** Moves the visible deltas into the base counters; every table's sum stays the same. */
+    @Modifying
+    @Query(value = """
+            WITH folded AS (
+                DELETE FROM table_version_deltas RETURNING table_name
+            ), counts AS (
+                SELECT table_name, count(*) AS n FROM folded GROUP BY table_name
+            )
+            UPDATE table_versions t SET version = t.version + counts.n
+            FROM counts WHERE t.table_name = counts.table_name
+            """, nativeQuery = true)
+    int foldDeltas();
+}
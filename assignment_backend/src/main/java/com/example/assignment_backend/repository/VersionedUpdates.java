@@ -0,0 +1,96 @@
+package com.example.assignment_backend.repository;
+
+import com.example.assignment_backend.exception.PreconditionFailedException;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies a partial update as one {@code UPDATE ... SET <changed columns>, version = version + 1
+ * WHERE id = ? AND version = ?} statement, so a PATCH neither reads the row first nor can overwrite
+ * a change it has not seen. The statement is issued on the session's connection rather than as a
+ * bulk JPQL update, which would make Hibernate invalidate the entity's whole second-level cache
+ * region; instead only the updated row is evicted, once now so the caller's re-read goes to the
+ * database and once more after the transaction completes, in case a concurrent reader cached the
+ * old row in between.
+ */
+@Repository
+public class VersionedUpdates {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param changes column name to new value; foreign keys take the referenced id
+     * @throws EntityNotFoundException if no row has this id
+     * @throws PreconditionFailedException if the row exists but its version is not {@code expectedVersion}
+     */
+    public <T> void apply(Class<T> type, Long id, long expectedVersion, Map<String, Object> changes) {
+        StringJoiner columns = new StringJoiner(", ", "UPDATE " + type.getAnnotation(Table.class).name() + " SET ",
+                " WHERE id = ? AND version = ?");
+        List<Object> values = new ArrayList<>(changes.size());
+        changes.forEach((column, value) -> {
+            columns.add(column + " = ?");
+            values.add(value);
+        });
+        columns.add("version = version + 1");
+        String sql = columns.toString();
+
+        // Goes through Hibernate's statement preparer, so the statement is inspected, counted and has
+        // its SQL exceptions converted like any other.
+        entityManager.flush();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement update = jdbc.getStatementPreparer().prepareStatement(sql);
+        int updated;
+        try {
+            int index = 1;
+            for (Object value : values) {
+                update.setObject(index++, value);
+            }
+            update.setLong(index++, id);
+            update.setLong(index, expectedVersion);
+            updated = jdbc.getResultSetReturn().executeUpdate(update, sql);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "could not bind versioned update", sql);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(update);
+            jdbc.afterStatementExecution();
+        }
+        evict(type, id);
+
+        if (updated == 0) {
+            if (entityManager.find(type, id) == null) {
+                throw new EntityNotFoundException(type.getSimpleName() + " not found with id: " + id);
+            }
+            throw new PreconditionFailedException(type.getSimpleName() + " " + id
+                    + " has been modified since version " + expectedVersion);
+        }
+    }
+
+    private void evict(Class<?> type, Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(type, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(type, id);
+                }
+            });
+        }
+    }
+}
@@ -1,23 +1,49 @@
 package com.example.assignment_backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import com.example.assignment_backend.entity.Author;
 import com.example.assignment_backend.repository.AuthorRepository;
 import java.util.*;
 import com.example.assignment_backend.dto.AuthorResponseDto;
 import java.util.stream.Collectors;
 import com.example.assignment_backend.dto.AuthorCreateDto;
+import com.example.assignment_backend.dto.AuthorPatchDto;
+import com.example.assignment_backend.repository.VersionedUpdates;
+import com.example.assignment_backend.repository.FieldProjections;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.ChangeEntityType;
 import jakarta.persistence.EntityNotFoundException;
 import com.example.assignment_backend.mapper.AuthorMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.util.CursorPages;
 import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Value;
+import com.example.assignment_backend.dto.BatchResultDto;
+import com.example.assignment_backend.util.BatchResults;
 import lombok.RequiredArgsConstructor;
+import com.example.assignment_backend.repository.TableVersionRepository;
+import com.example.assignment_backend.util.ETags;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class AuthorService {
     private final AuthorRepository repository;
     private final AuthorMapper authorMapper;
+    private final SuggestService suggestService;
+    private final TableVersionRepository tableVersionRepository;
+    private final VersionedUpdates versionedUpdates;
+    private final FieldProjections fieldProjections;
+    private final ChangeLogService changeLog;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxBatchIds;
 
     public List<AuthorResponseDto> getAllAuthors() {
         return repository.findAll().stream().map(authorMapper::toAuthorResponseDto).collect(Collectors.toList());
@@ -27,25 +53,74 @@ public class AuthorService {
         return repository.findAll(pageable).map(authorMapper::toAuthorResponseDto);
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllAuthorsFields(String fields, Pageable pageable) {
+        return fieldProjections.findPage(Author.class, fields, null, pageable);
+    }
+
+    public CursorPageDto<AuthorResponseDto> scrollAuthors(String after, Sort sort, int size, boolean estimateTotal) {
+        Window<Author> window = repository.findBy(Specification.unrestricted(),
+                q -> q.sortBy(sort).limit(size).scroll(CursorPages.position(after, sort)));
+        return CursorPages.of(window, authorMapper::toAuthorResponseDto,
+                estimateTotal ? repository.estimateCount() : null);
+    }
+
+    public String getListETag() {
+        return ETags.weak(tableVersionRepository.sumVersions(List.of("authors")));
+    }
+
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionKeyById(id).map(ETags::strong);
+    }
+
+    public BatchResultDto<AuthorResponseDto> getByIds(List<Long> ids) {
+        return BatchResults.load(ids, maxBatchIds, repository::findAllById,
+                Author::getId, authorMapper::toAuthorResponseDto);
+    }
+
     public Optional<AuthorResponseDto> getById(Long id) {
         return repository.findById(id).map(authorMapper::toAuthorResponseDto);
     }
 
+    @Transactional
     public AuthorResponseDto create(AuthorCreateDto dto) {
-        Author author = new Author(null, dto.getName());
+        Author author = new Author(null, dto.getName(), null);
         Author saved = repository.save(author);
+        changeLog.upserted(ChangeEntityType.AUTHOR, saved.getId());
+        suggestService.onSaved(SuggestType.AUTHOR, saved.getId(), saved.getName());
         return authorMapper.toAuthorResponseDto(saved);
     }
 
+    @Transactional
     public AuthorResponseDto update(Long id, AuthorCreateDto dto) {
         Author existing = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Author not found with id: " + id));
-        Author updated = new Author(existing.getId(), dto.getName() != null ? dto.getName() : existing.getName());
+        Author updated = new Author(existing.getId(), dto.getName() != null ? dto.getName() : existing.getName(),
+                existing.getVersion());
         Author saved = repository.save(updated);
+        changeLog.upserted(ChangeEntityType.AUTHOR, saved.getId());
+        suggestService.onSaved(SuggestType.AUTHOR, saved.getId(), saved.getName());
+        return authorMapper.toAuthorResponseDto(saved);
+    }
+
+    @Transactional
+    public AuthorResponseDto patch(Long id, long expectedVersion, AuthorPatchDto dto) {
+        Map<String, Object> changes = new HashMap<>();
+        if (dto.getName() != null) {
+            changes.put("name", dto.getName());
+        }
+        versionedUpdates.apply(Author.class, id, expectedVersion, changes);
+        changeLog.upserted(ChangeEntityType.AUTHOR, id);
+        Author saved = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Author not found with id: " + id));
+        suggestService.onSaved(SuggestType.AUTHOR, saved.getId(), saved.getName());
         return authorMapper.toAuthorResponseDto(saved);
     }
 
+    @Transactional
     public void deleteById(Long id) {
         repository.deleteById(id);
+        changeLog.deleted(ChangeEntityType.AUTHOR, id);
+        suggestService.onDeleted(SuggestType.AUTHOR, id);
     }
 }
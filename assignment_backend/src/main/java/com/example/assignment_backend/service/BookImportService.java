@@ -0,0 +1,268 @@
+package com.example.assignment_backend.service;
+
+import io.micrometer.core.annotation.Timed;
+import com.example.assignment_backend.dto.BookImportRowDto;
+import com.example.assignment_backend.dto.BulkImportErrorDto;
+import com.example.assignment_backend.dto.BulkImportResultDto;
+import com.example.assignment_backend.dto.ChangeEntityType;
+import com.example.assignment_backend.dto.DataFormat;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.entity.Author;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.repository.AuthorRepository;
+import com.example.assignment_backend.repository.BookRepository;
+import com.example.assignment_backend.util.CsvUtils;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams a CSV or NDJSON catalog into the books table. Rows are validated one by one and written in
+ * chunks, each in its own transaction: authors referenced by name are resolved with one query per
+ * chunk (and created when missing), and books are inserted as JDBC batches. A bad row is reported
+ * and skipped; it never aborts the rest of the import.
+ */
+@Timed(value = "app.service", histogram = true)
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SuggestService suggestService;
+    private final ChangeLogService changeLog;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public BulkImportResultDto importBooks(InputStream body, DataFormat format) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> header = null;
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == DataFormat.CSV && header == null) {
+                header = parseHeader(line);
+                if (!header.containsKey("title")
+                        || !(header.containsKey("authorid") || header.containsKey("authorname"))) {
+                    run.fail(lineNumber, "Header must contain title and authorId or authorName columns");
+                    break;
+                }
+                continue;
+            }
+            run.totalRows++;
+            try {
+                BookImportRowDto row = format == DataFormat.CSV
+                        ? parseCsvRow(header, line)
+                        : objectMapper.readValue(line, BookImportRowDto.class);
+                String problem = validate(row);
+                if (problem != null) {
+                    run.fail(lineNumber, problem);
+                    continue;
+                }
+                chunk.add(new PendingRow(lineNumber, row));
+            } catch (IllegalArgumentException | JacksonException ex) {
+                run.fail(lineNumber, "Unreadable row: " + ex.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+
+        if (run.imported > 0) {
+            suggestService.reload(SuggestType.BOOK);
+        }
+        if (run.authorsCreated > 0) {
+            suggestService.reload(SuggestType.AUTHOR);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new BulkImportResultDto(run.totalRows, run.imported, run.failed, run.authorsCreated, elapsedMillis,
+                run.errors, run.failed > run.errors.size());
+    }
+
+    private void importChunk(List<PendingRow> chunk, ImportRun run) {
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> writeChunk(chunk));
+            run.imported += outcome.imported();
+            run.authorsCreated += outcome.authorsCreated();
+            outcome.errors().forEach(error -> run.fail(error.getRow(), error.getMessage()));
+        } catch (RuntimeException ex) {
+            String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            chunk.forEach(row -> run.fail(row.line(), message));
+        }
+    }
+
+    private ChunkOutcome writeChunk(List<PendingRow> chunk) {
+        // Imported rows are not worth caching; keep them out of the second-level cache.
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            Set<Long> authorIds = new HashSet<>();
+            Set<String> authorNames = new HashSet<>();
+            for (PendingRow pending : chunk) {
+                if (pending.row().getAuthorId() != null) {
+                    authorIds.add(pending.row().getAuthorId());
+                } else {
+                    authorNames.add(pending.row().getAuthorName().trim());
+                }
+            }
+            Map<Long, Author> authorsById = authorRepository.findAllById(authorIds).stream()
+                    .collect(Collectors.toMap(Author::getId, Function.identity()));
+            Map<String, Author> authorsByName = new HashMap<>();
+            if (!authorNames.isEmpty()) {
+                for (Author author : authorRepository.findByNameIn(authorNames)) {
+                    authorsByName.merge(author.getName(), author,
+                            (first, second) -> first.getId() <= second.getId() ? first : second);
+                }
+            }
+            List<Author> createdAuthors = new ArrayList<>();
+            for (String name : authorNames) {
+                if (!authorsByName.containsKey(name)) {
+                    Author author = new Author(null, name, null);
+                    authorsByName.put(name, author);
+                    createdAuthors.add(author);
+                }
+            }
+            authorRepository.saveAll(createdAuthors);
+
+            List<BulkImportErrorDto> errors = new ArrayList<>();
+            List<Book> books = new ArrayList<>(chunk.size());
+            for (PendingRow pending : chunk) {
+                BookImportRowDto row = pending.row();
+                Author author = row.getAuthorId() != null
+                        ? authorsById.get(row.getAuthorId())
+                        : authorsByName.get(row.getAuthorName().trim());
+                if (author == null) {
+                    errors.add(new BulkImportErrorDto(pending.line(),
+                            "authorId: Author not found with id: " + row.getAuthorId()));
+                    continue;
+                }
+                books.add(new Book(null, row.getTitle().trim(), trimToNull(row.getCategory()),
+                        row.getPublishingYear(), author, null));
+            }
+            bookRepository.saveAll(books);
+            createdAuthors.forEach(author -> changeLog.upserted(ChangeEntityType.AUTHOR, author.getId()));
+            books.forEach(book -> changeLog.upserted(ChangeEntityType.BOOK, book.getId()));
+            entityManager.flush();
+            entityManager.clear();
+            return new ChunkOutcome(books.size(), createdAuthors.size(), errors);
+        } finally {
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvUtils.parseLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static BookImportRowDto parseCsvRow(Map<String, Integer> header, String line) {
+        List<String> fields = CsvUtils.parseLine(line);
+        String publishingYear = field(fields, header, "publishingyear");
+        String authorId = field(fields, header, "authorid");
+        return new BookImportRowDto(
+                field(fields, header, "title"),
+                field(fields, header, "category"),
+                publishingYear == null ? null : Integer.valueOf(publishingYear),
+                authorId == null ? null : Long.valueOf(authorId),
+                field(fields, header, "authorname"));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return trimToNull(fields.get(index));
+    }
+
+    // Mirrors the constraints of BookCreateDto and the books table.
+    private static String validate(BookImportRowDto row) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "title: Title is required";
+        }
+        if (row.getTitle().trim().length() > 255) {
+            return "title: Title must be at most 255 characters";
+        }
+        if (row.getCategory() != null && row.getCategory().trim().length() > 100) {
+            return "category: Category must be at most 100 characters";
+        }
+        if (row.getAuthorId() == null && (row.getAuthorName() == null || row.getAuthorName().isBlank())) {
+            return "authorId: Author ID or author name is required";
+        }
+        if (row.getAuthorId() != null && row.getAuthorId() <= 0) {
+            return "authorId: Author ID must be positive";
+        }
+        if (row.getAuthorId() == null && row.getAuthorName().trim().length() > 255) {
+            return "authorName: Author name must be at most 255 characters";
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private record PendingRow(long line, BookImportRowDto row) {
+    }
+
+    private record ChunkOutcome(int imported, int authorsCreated, List<BulkImportErrorDto> errors) {
+    }
+
+    private class ImportRun {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private long authorsCreated;
+        private final List<BulkImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportErrorDto(line, message));
+            }
+        }
+    }
+}
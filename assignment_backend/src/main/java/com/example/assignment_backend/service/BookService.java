@@ -1,25 +1,61 @@
 package com.example.assignment_backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import com.example.assignment_backend.entity.Book;
 import com.example.assignment_backend.entity.Author;
 import com.example.assignment_backend.dto.BookCreateDto;
+import com.example.assignment_backend.dto.BookPatchDto;
+import com.example.assignment_backend.repository.VersionedUpdates;
+import com.example.assignment_backend.repository.FieldProjections;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.hibernate.exception.ConstraintViolationException;
 import com.example.assignment_backend.repository.BookRepository;
 import com.example.assignment_backend.repository.AuthorRepository;
+import com.example.assignment_backend.repository.BorrowedBookRepository;
+import com.example.assignment_backend.dto.BookAvailabilityDto;
 import java.util.*;
 import java.util.stream.Collectors;
 import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.ChangeEntityType;
 import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Value;
+import com.example.assignment_backend.dto.BatchResultDto;
+import com.example.assignment_backend.util.BatchResults;
 import lombok.RequiredArgsConstructor;
+import com.example.assignment_backend.repository.TableVersionRepository;
+import com.example.assignment_backend.util.ETags;
 import com.example.assignment_backend.mapper.BookMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.util.CursorPages;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class BookService {
+    private static final Set<String> NULLABLE_SORT_KEYS = Set.of("category", "publishingYear");
+    // books.author_id references authors (V1 migration; PostgreSQL's default constraint name).
+    private static final String AUTHOR_FOREIGN_KEY = "books_author_id_fkey";
+
     private final BookRepository repository;
     private final AuthorRepository authorRepository;
+    private final BorrowedBookRepository borrowedBookRepository;
     private final BookMapper bookMapper;
+    private final SuggestService suggestService;
+    private final TableVersionRepository tableVersionRepository;
+    private final VersionedUpdates versionedUpdates;
+    private final FieldProjections fieldProjections;
+    private final ChangeLogService changeLog;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxBatchIds;
 
     public List<BookResponseDto> getAllBooks() {
         return repository.findAll().stream().map(bookMapper::toBookResponseDto).collect(Collectors.toList());
@@ -29,18 +65,54 @@ public class BookService {
         return repository.findAll(pageable).map(bookMapper::toBookResponseDto);
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllBooksFields(String fields, Pageable pageable) {
+        return fieldProjections.findPage(Book.class, fields, null, pageable);
+    }
+
+    public CursorPageDto<BookResponseDto> scrollBooks(String after, Sort sort, int size, boolean estimateTotal) {
+        Sort keys = CursorPages.requireNonNullKeys(sort, NULLABLE_SORT_KEYS);
+        Window<Book> window = repository.findBy(Specification.unrestricted(),
+                q -> q.project("author").sortBy(keys).limit(size).scroll(CursorPages.position(after, keys)));
+        return CursorPages.of(window, bookMapper::toBookResponseDto,
+                estimateTotal ? repository.estimateCount() : null);
+    }
+
+    public String getListETag() {
+        return ETags.weak(tableVersionRepository.sumVersions(List.of("books", "authors")));
+    }
+
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionKeyById(id).map(ETags::strong);
+    }
+
+    // One query for the whole batch, answered from the open-loan index; unknown ids report available.
+    public List<BookAvailabilityDto> getAvailability(List<Long> ids) {
+        Set<Long> onLoan = new HashSet<>(borrowedBookRepository.findBookIdsOnLoan(ids));
+        return ids.stream().distinct().map(id -> new BookAvailabilityDto(id, !onLoan.contains(id))).toList();
+    }
+
+    public BatchResultDto<BookResponseDto> getByIds(List<Long> ids) {
+        return BatchResults.load(ids, maxBatchIds, repository::findAllWithAuthorByIdIn,
+                Book::getId, bookMapper::toBookResponseDto);
+    }
+
     public Optional<BookResponseDto> getById(Long id) {
         return repository.findById(id).map(bookMapper::toBookResponseDto);
     }
 
+    @Transactional
     public BookResponseDto create(BookCreateDto dto) {
         Author author = authorRepository.findById(dto.getAuthorId())
                 .orElseThrow(() -> new RuntimeException("Author not found with id: " + dto.getAuthorId()));
-        Book book = new Book(null, dto.getTitle(), dto.getCategory(), dto.getPublishingYear(), author);
+        Book book = new Book(null, dto.getTitle(), dto.getCategory(), dto.getPublishingYear(), author, null);
         Book saved = repository.save(book);
+        changeLog.upserted(ChangeEntityType.BOOK, saved.getId());
+        suggestService.onSaved(SuggestType.BOOK, saved.getId(), saved.getTitle());
         return bookMapper.toBookResponseDto(saved);
     }
 
+    @Transactional
     public BookResponseDto update(Long id, BookCreateDto dto) {
         Book existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
@@ -49,12 +121,58 @@ public class BookService {
             author = authorRepository.findById(dto.getAuthorId())
                     .orElseThrow(() -> new RuntimeException("Author not found with id: " + dto.getAuthorId()));
         }
-        Book book = new Book(existing.getId(), dto.getTitle(), dto.getCategory(), dto.getPublishingYear(), author);
+        Book book = new Book(existing.getId(), dto.getTitle(), dto.getCategory(), dto.getPublishingYear(), author,
+                existing.getVersion());
         Book saved = repository.save(book);
+        changeLog.upserted(ChangeEntityType.BOOK, saved.getId());
+        suggestService.onSaved(SuggestType.BOOK, saved.getId(), saved.getTitle());
         return bookMapper.toBookResponseDto(saved);
     }
 
+    @Transactional
+    public BookResponseDto patch(Long id, long expectedVersion, BookPatchDto dto) {
+        Map<String, Object> changes = new HashMap<>();
+        if (dto.getTitle() != null) {
+            changes.put("title", dto.getTitle());
+        }
+        if (dto.getCategory() != null) {
+            changes.put("category", dto.getCategory());
+        }
+        if (dto.getPublishingYear() != null) {
+            changes.put("publishing_year", dto.getPublishingYear());
+        }
+        if (dto.getAuthorId() != null) {
+            // The foreign key is written as is; a missing author fails the constraint.
+            changes.put("author_id", dto.getAuthorId());
+        }
+        try {
+            versionedUpdates.apply(Book.class, id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            if (isMissingAuthor(e)) {
+                throw new EntityNotFoundException("Author not found with id: " + dto.getAuthorId());
+            }
+            throw e;
+        }
+        changeLog.upserted(ChangeEntityType.BOOK, id);
+        Book saved = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id));
+        suggestService.onSaved(SuggestType.BOOK, saved.getId(), saved.getTitle());
+        return bookMapper.toBookResponseDto(saved);
+    }
+
+    @Transactional
     public void deleteById(Long id) {
         repository.deleteById(id);
+        changeLog.deleted(ChangeEntityType.BOOK, id);
+        suggestService.onDeleted(SuggestType.BOOK, id);
+    }
+
+    private static boolean isMissingAuthor(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return AUTHOR_FOREIGN_KEY.equals(violation.getConstraintName());
+            }
+        }
+        return false;
     }
 }
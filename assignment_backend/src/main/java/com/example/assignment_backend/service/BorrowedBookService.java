@@ -1,11 +1,24 @@
 package com.example.assignment_backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import com.example.assignment_backend.entity.BorrowedBook;
 import com.example.assignment_backend.repository.BorrowedBookRepository;
 import java.util.*;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
+import com.example.assignment_backend.repository.TableVersionRepository;
+import com.example.assignment_backend.util.ETags;
 import com.example.assignment_backend.dto.BorrowedBookCreateDto;
+import com.example.assignment_backend.dto.BorrowedBookFilterDto;
+import com.example.assignment_backend.dto.BorrowedBookPatchDto;
+import com.example.assignment_backend.dto.ChangeEntityType;
+import com.example.assignment_backend.dto.LoanEventType;
+import com.example.assignment_backend.repository.VersionedUpdates;
+import com.example.assignment_backend.repository.FieldProjections;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.hibernate.exception.ConstraintViolationException;
+import com.example.assignment_backend.exception.BookUnavailableException;
 import com.example.assignment_backend.entity.Book;
 import com.example.assignment_backend.entity.Member;
 import com.example.assignment_backend.repository.BookRepository;
@@ -14,73 +27,270 @@ import java.lang.RuntimeException;
 import java.time.LocalDate;
 
 import com.example.assignment_backend.dto.BorrowedBookResponseDto;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import tools.jackson.databind.ObjectMapper;
+import com.example.assignment_backend.dto.BorrowedBookExportDto;
+import com.example.assignment_backend.dto.DataFormat;
+import com.example.assignment_backend.util.CsvUtils;
 import org.springframework.transaction.annotation.Transactional;
-import com.example.assignment_backend.mapper.BookMapper;
-import com.example.assignment_backend.mapper.MemberMapper;
+import com.example.assignment_backend.mapper.BorrowedBookMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import com.example.assignment_backend.repository.BorrowedBookSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.util.CursorPages;
 
+@Slf4j
+@Timed(value = "app.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class BorrowedBookService {
+    private static final String CSV_HEADER = "id,borrowDate,returnDate,bookId,bookTitle,bookCategory,"
+            + "bookPublishingYear,authorId,authorName,memberId,memberName,memberEmail,memberPhone\n";
+    // Partial unique index allowing one open loan per book (V5 migration).
+    private static final String OPEN_LOAN_INDEX = "ux_borrowed_books_open_book";
+    private static final Set<String> NULLABLE_SORT_KEYS = Set.of("returnDate", "book.category",
+            "book.publishingYear", "member.email", "member.phone");
+
     private final BorrowedBookRepository repository;
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
-    private final BookMapper bookMapper;
-    private final MemberMapper memberMapper;
+    private final BorrowedBookMapper mapper;
+    private final TableVersionRepository tableVersionRepository;
+    private final VersionedUpdates versionedUpdates;
+    private final FieldProjections fieldProjections;
+    private final ChangeLogService changeLog;
+    private final LoanEventBroadcaster loanEvents;
+    private final ObjectMapper objectMapper;
 
-    private BorrowedBookResponseDto toBorrowedBookResponseDto(BorrowedBook borrowedBook) {
-        return new BorrowedBookResponseDto(borrowedBook.getId(), borrowedBook.getBorrowDate(),
-                borrowedBook.getReturnDate(), bookMapper.toBookResponseDto(borrowedBook.getBook()),
-                memberMapper.toMemberResponseDto(borrowedBook.getMember()));
-    }
+    @Value("${app.export.fetch-size:1000}")
+    private int exportFetchSize;
 
+    @Value("${app.overdue.loan-days:14}")
+    private int loanDays;
+
+    /**
+     * Writes every loan matching the filter to {@code out}, in id order, as NDJSON (the list
+     * endpoint's JSON shape) or flat CSV. Rows come through a server-side cursor and are written as
+     * they arrive, so memory use does not depend on the number of rows.
+     */
     @Transactional(readOnly = true)
-    public List<BorrowedBookResponseDto> getAllBorrowedBooks() {
-        return repository.findAll().stream().map(this::toBorrowedBookResponseDto).collect(Collectors.toList());
+    public long exportBorrowedBooks(BorrowedBookFilterDto filter, DataFormat format, OutputStream out)
+            throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        if (format == DataFormat.CSV) {
+            buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        try (Stream<BorrowedBookExportDto> stream = repository.streamForExport(buildSpecification(filter),
+                exportFetchSize)) {
+            Iterator<BorrowedBookExportDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                BorrowedBookExportDto row = iterator.next();
+                if (format == DataFormat.CSV) {
+                    buffered.write(toCsvLine(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    buffered.write(objectMapper.writeValueAsBytes(mapper.toBorrowedBookResponseDto(row)));
+                    buffered.write('\n');
+                }
+                rows++;
+            }
+        }
+        buffered.flush();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Exported {} borrowed books as {} in {} ms ({} rows/s)", rows, format, elapsedMillis,
+                rows * 1000 / elapsedMillis);
+        return rows;
+    }
+
+    private static String toCsvLine(BorrowedBookExportDto row) {
+        return String.join(",",
+                CsvUtils.escape(row.getId()), CsvUtils.escape(row.getBorrowDate()),
+                CsvUtils.escape(row.getReturnDate()), CsvUtils.escape(row.getBookId()),
+                CsvUtils.escape(row.getBookTitle()), CsvUtils.escape(row.getBookCategory()),
+                CsvUtils.escape(row.getBookPublishingYear()), CsvUtils.escape(row.getAuthorId()),
+                CsvUtils.escape(row.getAuthorName()), CsvUtils.escape(row.getMemberId()),
+                CsvUtils.escape(row.getMemberName()), CsvUtils.escape(row.getMemberEmail()),
+                CsvUtils.escape(row.getMemberPhone())) + "\n";
     }
 
     @Transactional(readOnly = true)
-    public Page<BorrowedBookResponseDto> getAllBorrowedBooks(String title, String memberName, LocalDate borrowDate,
+    public Page<BorrowedBookResponseDto> getAllBorrowedBooks(BorrowedBookFilterDto filter, boolean rank,
             Pageable pageable) {
+        Specification<BorrowedBook> spec = buildSpecification(filter);
+        if (spec == null) {
+            return repository.findAll(pageable).map(mapper::toBorrowedBookResponseDto);
+        }
+        if (rank) {
+            spec = spec.and(relevance(filter));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+        return repository.findAll(spec, pageable).map(mapper::toBorrowedBookResponseDto);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllBorrowedBooksFields(BorrowedBookFilterDto filter, boolean rank,
+            String fields, Pageable pageable) {
+        Specification<BorrowedBook> spec = buildSpecification(filter);
+        if (spec != null && rank) {
+            spec = spec.and(relevance(filter));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+        return fieldProjections.findPage(BorrowedBook.class, fields, spec, pageable);
+    }
+
+    private static Specification<BorrowedBook> relevance(BorrowedBookFilterDto filter) {
+        String titleTerm = filter.getTitle() != null ? filter.getTitle() : filter.getSearch();
+        String memberTerm = filter.getMemberName() != null ? filter.getMemberName() : filter.getSearch();
+        return BorrowedBookSpecifications.orderByRelevance(titleTerm, memberTerm);
+    }
+
+    // Relevance ranking has no stable seek key, so keyset scrolls always follow the requested sort.
+    @Transactional(readOnly = true)
+    public CursorPageDto<BorrowedBookResponseDto> scrollBorrowedBooks(BorrowedBookFilterDto filter, String after,
+            Sort sort, int size, boolean estimateTotal) {
+        Sort keys = CursorPages.requireNonNullKeys(sort, NULLABLE_SORT_KEYS);
+        Specification<BorrowedBook> spec = buildSpecification(filter);
+        Window<BorrowedBook> window = repository.findBy(spec == null ? Specification.unrestricted() : spec,
+                q -> q.project("book", "book.author", "member").sortBy(keys).limit(size)
+                        .scroll(CursorPages.position(after, keys)));
+        // The planner estimate only describes the whole table, so it is not offered for filtered scrolls.
+        Long estimatedTotal = estimateTotal && spec == null ? repository.estimateCount() : null;
+        return CursorPages.of(window, mapper::toBorrowedBookResponseDto, estimatedTotal);
+    }
+
+    // Every filter narrows the result; only `search` matches either of two fields (title or member name).
+    private Specification<BorrowedBook> buildSpecification(BorrowedBookFilterDto filter) {
         Specification<BorrowedBook> spec = null;
-        if (title != null && !title.trim().isEmpty()) {
-            spec = BorrowedBookSpecifications.hasTitle(title);
+        if (hasText(filter.getTitle())) {
+            spec = BorrowedBookSpecifications.hasTitle(filter.getTitle());
+        }
+        if (hasText(filter.getMemberName())) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasMemberName(filter.getMemberName());
+            spec = spec == null ? newSpec : spec.and(newSpec);
         }
-        if (memberName != null && !memberName.trim().isEmpty()) {
-            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasMemberName(memberName);
-            spec = spec == null ? newSpec : spec.or(newSpec);
+        if (hasText(filter.getSearch())) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasTitle(filter.getSearch())
+                    .or(BorrowedBookSpecifications.hasMemberName(filter.getSearch()));
+            spec = spec == null ? newSpec : spec.and(newSpec);
         }
-        if (borrowDate != null) {
-            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasBorrowDate(borrowDate);
+        if (filter.getBorrowDate() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasBorrowDate(filter.getBorrowDate());
             spec = spec == null ? newSpec : spec.and(newSpec);
         }
-
-        if (spec == null) {
-            return repository.findAll(pageable).map(this::toBorrowedBookResponseDto);
+        if (filter.getBorrowedFrom() != null || filter.getBorrowedTo() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.borrowedBetween(filter.getBorrowedFrom(),
+                    filter.getBorrowedTo());
+            spec = spec == null ? newSpec : spec.and(newSpec);
+        }
+        if (filter.getReturnedFrom() != null || filter.getReturnedTo() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.returnedBetween(filter.getReturnedFrom(),
+                    filter.getReturnedTo());
+            spec = spec == null ? newSpec : spec.and(newSpec);
         }
-        return repository.findAll(spec, pageable).map(this::toBorrowedBookResponseDto);
+        if (filter.getStatus() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasStatus(filter.getStatus(),
+                    LocalDate.now().minusDays(loanDays));
+            spec = spec == null ? newSpec : spec.and(newSpec);
+        }
+        if (filter.getBookId() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasBookId(filter.getBookId());
+            spec = spec == null ? newSpec : spec.and(newSpec);
+        }
+        if (filter.getMemberId() != null) {
+            Specification<BorrowedBook> newSpec = BorrowedBookSpecifications.hasMemberId(filter.getMemberId());
+            spec = spec == null ? newSpec : spec.and(newSpec);
+        }
+        return spec;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    public String getListETag() {
+        return ETags.weak(
+                tableVersionRepository.sumVersions(List.of("borrowed_books", "books", "authors", "members")));
+    }
+
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionKeyById(id).map(ETags::strong);
     }
 
     public Optional<BorrowedBookResponseDto> getById(Long id) {
-        return repository.findById(id).map(this::toBorrowedBookResponseDto);
+        return repository.findById(id).map(mapper::toBorrowedBookResponseDto);
     }
 
+    @Transactional
     public void deleteById(Long id) {
         repository.deleteById(id);
+        changeLog.deleted(ChangeEntityType.BORROWED_BOOK, id);
+        loanEvents.publish(LoanEventType.DELETED, id, null);
     }
 
+    @Transactional
+    public BorrowedBookResponseDto patch(Long id, long expectedVersion, BorrowedBookPatchDto dto) {
+        Map<String, Object> changes = new HashMap<>();
+        if (dto.getBookId() != null) {
+            changes.put("book_id", dto.getBookId());
+        }
+        if (dto.getMemberId() != null) {
+            changes.put("member_id", dto.getMemberId());
+        }
+        if (dto.getBorrowDate() != null) {
+            changes.put("borrow_date", dto.getBorrowDate());
+        }
+        if (dto.getReturnDate() != null) {
+            changes.put("return_date", dto.getReturnDate());
+        }
+        try {
+            versionedUpdates.apply(BorrowedBook.class, id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            throw isOpenLoanConflict(e)
+                    ? new BookUnavailableException("Book " + dto.getBookId() + " is already on loan")
+                    : new EntityNotFoundException("Book or member not found");
+        }
+        changeLog.upserted(ChangeEntityType.BORROWED_BOOK, id);
+        BorrowedBookResponseDto patched = repository.findById(id)
+                .map(mapper::toBorrowedBookResponseDto)
+                .orElseThrow(() -> new EntityNotFoundException("BorrowedBook not found with id: " + id));
+        loanEvents.publish(LoanEventType.UPDATED, id, patched);
+        return patched;
+    }
+
+    @Transactional
     public BorrowedBookResponseDto create(BorrowedBookCreateDto dto) {
         Book book = bookRepository.findById(dto.getBookId()).orElseThrow(() -> new RuntimeException("Book not found"));
         Member member = memberRepository.findById(dto.getMemberId())
                 .orElseThrow(() -> new RuntimeException("Member not found"));
-        BorrowedBook borrowedBook = new BorrowedBook(null, book, member, dto.getBorrowDate(), dto.getReturnDate());
-        return toBorrowedBookResponseDto(repository.save(borrowedBook));
+        BorrowedBook borrowedBook = new BorrowedBook(null, book, member, dto.getBorrowDate(), dto.getReturnDate(),
+                null);
+        try {
+            BorrowedBook saved = repository.save(borrowedBook);
+            changeLog.upserted(ChangeEntityType.BORROWED_BOOK, saved.getId());
+            BorrowedBookResponseDto created = mapper.toBorrowedBookResponseDto(saved);
+            loanEvents.publish(LoanEventType.BORROWED, saved.getId(), created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            if (isOpenLoanConflict(e)) {
+                throw new BookUnavailableException("Book " + book.getId() + " is already on loan");
+            }
+            throw e;
+        }
     }
 
+    @Transactional
     public BorrowedBookResponseDto update(Long id, BorrowedBookCreateDto dto) {
         BorrowedBook existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("BorrowedBook not found with id: " + id));
@@ -96,8 +306,50 @@ public class BorrowedBookService {
         }
         LocalDate borrowDate = dto.getBorrowDate() != null ? dto.getBorrowDate() : existing.getBorrowDate();
         LocalDate returnDate = dto.getReturnDate() != null ? dto.getReturnDate() : existing.getReturnDate();
-        BorrowedBook updated = new BorrowedBook(existing.getId(), book, member, borrowDate, returnDate);
-        return toBorrowedBookResponseDto(repository.save(updated));
+        BorrowedBook updated = new BorrowedBook(existing.getId(), book, member, borrowDate, returnDate,
+                existing.getVersion());
+        try {
+            // Flushed here so the open-loan conflict surfaces inside the try rather than at commit.
+            BorrowedBook saved = repository.saveAndFlush(updated);
+            changeLog.upserted(ChangeEntityType.BORROWED_BOOK, saved.getId());
+            BorrowedBookResponseDto result = mapper.toBorrowedBookResponseDto(saved);
+            loanEvents.publish(LoanEventType.UPDATED, saved.getId(), result);
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            if (isOpenLoanConflict(e)) {
+                throw new BookUnavailableException("Book " + book.getId() + " is already on loan");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Closes an open loan. The update only matches while the loan is open, so of two concurrent
+     * returns exactly one succeeds and the other gets a conflict.
+     */
+    @Transactional
+    public BorrowedBookResponseDto returnBook(Long id, LocalDate returnDate) {
+        if (repository.markReturned(id, returnDate != null ? returnDate : LocalDate.now()) == 0) {
+            if (!repository.existsById(id)) {
+                throw new EntityNotFoundException("BorrowedBook not found with id: " + id);
+            }
+            throw new BookUnavailableException("BorrowedBook " + id + " has already been returned");
+        }
+        changeLog.upserted(ChangeEntityType.BORROWED_BOOK, id);
+        BorrowedBookResponseDto returned = repository.findById(id)
+                .map(mapper::toBorrowedBookResponseDto)
+                .orElseThrow(() -> new EntityNotFoundException("BorrowedBook not found with id: " + id));
+        loanEvents.publish(LoanEventType.RETURNED, id, returned);
+        return returned;
+    }
+
+    private static boolean isOpenLoanConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return OPEN_LOAN_INDEX.equals(violation.getConstraintName());
+            }
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,36 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+    // Must match the regions declared on the entities and in application.conf.
+    private static final List<String> REGIONS = List.of("authors", "books", "members");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDto> getRegionStats() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return REGIONS.stream()
+                .flatMap(region -> {
+                    CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                    return stats == null ? Stream.empty() : Stream.of(toDto(region, stats));
+                })
+                .toList();
+    }
+
+    private CacheRegionStatsDto toDto(String region, CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        double hitRatio = lookups == 0 ? 0 : (double) stats.getHitCount() / lookups;
+        return new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                hitRatio, stats.getElementCountInMemory());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.ChangeDto;
+import com.example.assignment_backend.dto.ChangeEntityType;
+import com.example.assignment_backend.dto.ChangeFeedDto;
+import com.example.assignment_backend.dto.ChangeOperation;
+import com.example.assignment_backend.entity.ChangeLogEntry;
+import com.example.assignment_backend.repository.ChangeLogEntryRepository;
+import com.example.assignment_backend.repository.ChangeLogWriter;
+import com.example.assignment_backend.repository.ChangeLogWriter.Change;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Records which authors, books, members and loans a transaction touched, and serves them as a feed
+ * ordered by commit. Changes are collected in memory while the transaction runs (repeated changes
+ * to one entity collapse to the last) and appended as one batch just before commit, so a request
+ * costs one extra statement however many rows it writes, and a rolled-back transaction leaves no
+ * entries. Appended entries are numbered by the feed once their transaction has committed (see
+ * {@link ChangeLogWriter#sequence()}). Entries carry ids only; clients fetch the rows through the
+ * {@code ?ids=} endpoints.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeLogService {
+    private final ChangeLogEntryRepository repository;
+    private final ChangeLogWriter writer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.changes.retention:P7D}")
+    private Duration retention;
+
+    @Value("${app.changes.compaction-chunk-size:10000}")
+    private int compactionChunkSize;
+
+    public void upserted(ChangeEntityType type, Long id) {
+        record(type, id, ChangeOperation.UPSERT);
+    }
+
+    public void deleted(ChangeEntityType type, Long id) {
+        record(type, id, ChangeOperation.DELETE);
+    }
+
+    private void record(ChangeEntityType type, Long id, ChangeOperation operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes must be recorded inside the writing transaction");
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.put(type, id, operation);
+    }
+
+    /**
+     * Returns up to {@code limit} changes committed after {@code since}. Without {@code since} no
+     * changes are returned, only the current head to sync from once the lists have been loaded.
+     */
+    public ChangeFeedDto getChanges(Long since, int limit) {
+        // Numbers what has committed since the last call, on the primary, then reads like any other query.
+        transactionTemplate.execute(status -> writer.sequence());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> readChanges(since, limit));
+    }
+
+    private ChangeFeedDto readChanges(Long since, int limit) {
+        if (since == null || since < repository.findHorizon()) {
+            return new ChangeFeedDto(List.of(), repository.findHeadSeq(), false, since != null);
+        }
+        List<ChangeLogEntry> entries = repository.findBySeqGreaterThanOrderBySeq(since, Limit.of(limit + 1));
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        List<ChangeDto> changes = entries.stream()
+                .map(e -> new ChangeDto(e.getSeq(), e.getEntityType(), e.getEntityId(), e.getOperation(),
+                        e.getChangedAt()))
+                .toList();
+        long nextSince = changes.isEmpty() ? since : changes.getLast().getSeq();
+        return new ChangeFeedDto(changes, nextSince, hasMore, false);
+    }
+
+    /**
+     * Drops entries older than {@code app.changes.retention}, raising the horizon past them, then
+     * entries superseded by a later change to the same entity. Each chunk is its own transaction.
+     */
+    @Scheduled(cron = "${app.changes.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        Instant cutoff = Instant.now().minus(retention);
+        long expired = 0;
+        long dropped;
+        do {
+            dropped = transactionTemplate.execute(status -> writer.dropExpired(cutoff, compactionChunkSize));
+            expired += dropped;
+        } while (dropped == compactionChunkSize);
+
+        long horizon = transactionTemplate.execute(status -> repository.findHorizon());
+        long head = transactionTemplate.execute(status -> repository.findHeadSeq());
+        long superseded = 0;
+        for (long from = horizon; from < head; from += compactionChunkSize) {
+            long fromSeq = from;
+            superseded += transactionTemplate.execute(
+                    status -> writer.dropSuperseded(fromSeq, Math.min(head, fromSeq + compactionChunkSize)));
+        }
+        log.info("Change log compacted: {} expired and {} superseded entries dropped", expired, superseded);
+    }
+
+    // Bound to the transaction; flushed to the log by beforeCommit.
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<ChangeKey, ChangeOperation> changes = new LinkedHashMap<>();
+
+        void put(ChangeEntityType type, Long id, ChangeOperation operation) {
+            ChangeKey key = new ChangeKey(type, id);
+            // Re-inserting moves the entity behind changes recorded after its earlier one.
+            changes.remove(key);
+            changes.put(key, operation);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<Change> batch = new ArrayList<>(changes.size());
+            changes.forEach((key, operation) -> batch.add(new Change(key.type(), key.id(), operation)));
+            writer.append(batch);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogService.this);
+        }
+    }
+
+    private record ChangeKey(ChangeEntityType type, Long id) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.BookLoanCountDto;
+import com.example.assignment_backend.dto.CategoryOpenLoansDto;
+import com.example.assignment_backend.dto.DailyLoanCountDto;
+import com.example.assignment_backend.dto.MemberLoanCountDto;
+import com.example.assignment_backend.repository.CirculationStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
+public class CirculationStatsService {
+    private final CirculationStatsRepository repository;
+
+    @Transactional(readOnly = true)
+    public List<BookLoanCountDto> getMostBorrowedBooks(int limit) {
+        return repository.findMostBorrowedBooks(limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MemberLoanCountDto> getMostActiveMembers(int limit) {
+        return repository.findMostActiveMembers(limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryOpenLoansDto> getOpenLoansByCategory() {
+        return repository.findOpenLoansByCategory();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyLoanCountDto> getLoansPerDay(LocalDate from, LocalDate to) {
+        return repository.findLoansPerDay(from, to);
+    }
+
+    // Recovery path: recomputes the rollups from borrowed_books while holding off concurrent loan writes.
+    @Transactional
+    public void rebuild() {
+        repository.rebuild();
+    }
+}
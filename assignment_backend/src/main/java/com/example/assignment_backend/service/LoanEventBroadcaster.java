@@ -0,0 +1,226 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.dto.LoanEventDto;
+import com.example.assignment_backend.dto.LoanEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Fans loan events out to every Server-Sent Events subscriber of this instance. An event is
+ * serialized once, after its transaction commits, and queued to each subscriber's bounded buffer;
+ * a subscriber whose buffer is full is disconnected rather than allowed to hold up the others, and
+ * resumes through Last-Event-ID when it reconnects. Idle subscribers cost an async request and a
+ * buffer, no thread: sending happens on a virtual thread per subscriber only while it has events
+ * queued.
+ *
+ * <p>Event ids are {@code <epoch>-<n>}, with the epoch fixed per process. The last
+ * {@code app.loan-events.replay-size} events are kept for replay; a client resuming from an id
+ * that is older, or from another process, gets a {@code resync} event telling it to reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanEventBroadcaster {
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keepalive").build();
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // Guarded by itself, together with lastSeq; also orders dispatch against subscribe.
+    private final Deque<LoanEvent> history = new ArrayDeque<>();
+    private long lastSeq;
+
+    @Value("${app.loan-events.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${app.loan-events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.loan-events.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("app.loan-events.subscribers", subscribers, Set::size)
+                .description("Open loan event streams")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("app.loan-events.dropped")
+                .description("Loan event subscribers disconnected for falling buffer-size events behind")
+                .register(meterRegistry);
+    }
+
+    /** Broadcasts the event once the current transaction commits, or at once outside a transaction. */
+    public void publish(LoanEventType type, Long id, BorrowedBookResponseDto loan) {
+        LoanEventDto event = new LoanEventDto(type, id, loan);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber;
+        synchronized (history) {
+            List<Set<DataWithMediaType>> backlog = replay(lastEventId);
+            subscriber = new Subscriber(emitter, bufferSize + backlog.size());
+            backlog.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(e -> subscriber.remove());
+        return emitter;
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away.
+    @Scheduled(fixedDelayString = "${app.loan-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void dispatch(LoanEventDto payload) {
+        String data = objectMapper.writeValueAsString(payload);
+        synchronized (history) {
+            long seq = ++lastSeq;
+            LoanEvent event = new LoanEvent(seq, SseEmitter.event()
+                    .id(epoch + "-" + seq)
+                    .name("loan")
+                    .data(data)
+                    .build());
+            history.addLast(event);
+            if (history.size() > replaySize) {
+                history.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event.frame()));
+        }
+    }
+
+    // Caller holds the history lock.
+    private List<Set<DataWithMediaType>> replay(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long after = parseSeq(lastEventId);
+        long oldest = history.isEmpty() ? lastSeq + 1 : history.getFirst().seq();
+        if (after < oldest - 1 || after > lastSeq) {
+            return List.of(RESYNC);
+        }
+        List<Set<DataWithMediaType>> backlog = new ArrayList<>();
+        for (LoanEvent event : history) {
+            if (event.seq() > after) {
+                backlog.add(event.frame());
+            }
+        }
+        return backlog;
+    }
+
+    // -1 (always older than the history) for ids from another process or not issued by us at all.
+    private long parseSeq(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record LoanEvent(long seq, Set<DataWithMediaType> frame) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                droppedCounter.increment();
+                log.debug("Disconnecting loan event subscriber {} events behind", buffer.size());
+                remove();
+                emitter.complete();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        // At most one sender per subscriber; re-checks the buffer after releasing the flag so an
+        // event queued in between is not left behind.
+        private void send() {
+            try {
+                do {
+                    Set<DataWithMediaType> frame;
+                    while (!closed && (frame = buffer.poll()) != null) {
+                        emitter.send(frame);
+                    }
+                    sending.set(false);
+                } while (!closed && !buffer.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                remove();
+                emitter.completeWithError(e);
+            }
+        }
+
+        void remove() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -1,23 +1,56 @@
 package com.example.assignment_backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import com.example.assignment_backend.entity.Member;
 import com.example.assignment_backend.repository.MemberRepository;
 import java.util.*;
 import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Value;
+import com.example.assignment_backend.dto.BatchResultDto;
+import com.example.assignment_backend.util.BatchResults;
 import lombok.RequiredArgsConstructor;
+import com.example.assignment_backend.repository.TableVersionRepository;
+import com.example.assignment_backend.util.ETags;
 import com.example.assignment_backend.dto.MemberResponseDto;
 import java.util.stream.Collectors;
 import com.example.assignment_backend.dto.MemberCreateDto;
+import com.example.assignment_backend.dto.MemberPatchDto;
+import com.example.assignment_backend.repository.VersionedUpdates;
+import com.example.assignment_backend.repository.FieldProjections;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.ChangeEntityType;
 import com.example.assignment_backend.mapper.MemberMapper;
 import jakarta.persistence.EntityNotFoundException;
+import com.example.assignment_backend.exception.DuplicateValueException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.util.CursorPages;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class MemberService {
+    private static final Set<String> NULLABLE_SORT_KEYS = Set.of("email", "phone");
+    // members.email is UNIQUE (V1 migration; PostgreSQL's default constraint name).
+    private static final String EMAIL_UNIQUE = "members_email_key";
+
     private final MemberRepository repository;
     private final MemberMapper memberMapper;
+    private final SuggestService suggestService;
+    private final TableVersionRepository tableVersionRepository;
+    private final VersionedUpdates versionedUpdates;
+    private final FieldProjections fieldProjections;
+    private final ChangeLogService changeLog;
+
+    @Value("${app.batch.max-ids:100}")
+    private int maxBatchIds;
 
     public List<MemberResponseDto> getAllMembers() {
         return repository.findAll().stream().map(memberMapper::toMemberResponseDto).collect(Collectors.toList());
@@ -27,16 +60,51 @@ public class MemberService {
         return repository.findAll(pageable).map(memberMapper::toMemberResponseDto);
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllMembersFields(String fields, Pageable pageable) {
+        return fieldProjections.findPage(Member.class, fields, null, pageable);
+    }
+
+    public CursorPageDto<MemberResponseDto> scrollMembers(String after, Sort sort, int size, boolean estimateTotal) {
+        Sort keys = CursorPages.requireNonNullKeys(sort, NULLABLE_SORT_KEYS);
+        Window<Member> window = repository.findBy(Specification.unrestricted(),
+                q -> q.sortBy(keys).limit(size).scroll(CursorPages.position(after, keys)));
+        return CursorPages.of(window, memberMapper::toMemberResponseDto,
+                estimateTotal ? repository.estimateCount() : null);
+    }
+
+    public String getListETag() {
+        return ETags.weak(tableVersionRepository.sumVersions(List.of("members")));
+    }
+
+    public Optional<String> getETag(Long id) {
+        return repository.findVersionKeyById(id).map(ETags::strong);
+    }
+
+    public BatchResultDto<MemberResponseDto> getByIds(List<Long> ids) {
+        return BatchResults.load(ids, maxBatchIds, repository::findAllById,
+                Member::getId, memberMapper::toMemberResponseDto);
+    }
+
     public Optional<MemberResponseDto> getById(Long id) {
         return repository.findById(id).map(memberMapper::toMemberResponseDto);
     }
 
+    @Transactional
     public MemberResponseDto create(MemberCreateDto dto) {
-        Member member = new Member(null, dto.getName(), dto.getEmail(), dto.getPhone());
-        member = repository.save(member);
+        Member member = new Member(null, dto.getName(), dto.getEmail(), dto.getPhone(), null);
+        try {
+            // Flushed here so a duplicate email surfaces inside the try rather than at commit.
+            member = repository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmailOr(e, dto.getEmail());
+        }
+        changeLog.upserted(ChangeEntityType.MEMBER, member.getId());
+        suggestService.onSaved(SuggestType.MEMBER, member.getId(), member.getName());
         return memberMapper.toMemberResponseDto(member);
     }
 
+    @Transactional
     public MemberResponseDto update(Long id, MemberCreateDto dto) {
         Member existing = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Member not found with id: " + id));
@@ -44,12 +112,58 @@ public class MemberService {
                 existing.getId(),
                 dto.getName() != null ? dto.getName() : existing.getName(),
                 dto.getEmail() != null ? dto.getEmail() : existing.getEmail(),
-                dto.getPhone() != null ? dto.getPhone() : existing.getPhone());
-        Member saved = repository.save(updated);
+                dto.getPhone() != null ? dto.getPhone() : existing.getPhone(),
+                existing.getVersion());
+        Member saved;
+        try {
+            saved = repository.saveAndFlush(updated);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmailOr(e, updated.getEmail());
+        }
+        changeLog.upserted(ChangeEntityType.MEMBER, saved.getId());
+        suggestService.onSaved(SuggestType.MEMBER, saved.getId(), saved.getName());
         return memberMapper.toMemberResponseDto(saved);
     }
 
+    @Transactional
+    public MemberResponseDto patch(Long id, long expectedVersion, MemberPatchDto dto) {
+        Map<String, Object> changes = new HashMap<>();
+        if (dto.getName() != null) {
+            changes.put("name", dto.getName());
+        }
+        if (dto.getEmail() != null) {
+            changes.put("email", dto.getEmail());
+        }
+        if (dto.getPhone() != null) {
+            changes.put("phone", dto.getPhone());
+        }
+        try {
+            versionedUpdates.apply(Member.class, id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmailOr(e, dto.getEmail());
+        }
+        changeLog.upserted(ChangeEntityType.MEMBER, id);
+        Member saved = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Member not found with id: " + id));
+        suggestService.onSaved(SuggestType.MEMBER, saved.getId(), saved.getName());
+        return memberMapper.toMemberResponseDto(saved);
+    }
+
+    @Transactional
     public void deleteById(Long id) {
         repository.deleteById(id);
+        changeLog.deleted(ChangeEntityType.MEMBER, id);
+        suggestService.onDeleted(SuggestType.MEMBER, id);
+    }
+
+    private static RuntimeException duplicateEmailOr(DataIntegrityViolationException e, String email) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return EMAIL_UNIQUE.equals(violation.getConstraintName())
+                        ? new DuplicateValueException("email", "Email " + email + " is already in use")
+                        : e;
+            }
+        }
+        return e;
     }
 }
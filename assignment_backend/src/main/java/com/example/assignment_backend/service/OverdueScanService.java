@@ -0,0 +1,210 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.config.ReadYourWrites;
+import com.example.assignment_backend.dto.OverdueScanSliceDto;
+import com.example.assignment_backend.dto.OverdueScanStatusDto;
+import com.example.assignment_backend.entity.OverdueScanRun;
+import com.example.assignment_backend.entity.OverdueScanSlice;
+import com.example.assignment_backend.repository.BorrowedBookRepository;
+import com.example.assignment_backend.repository.OverdueNotificationWriter;
+import com.example.assignment_backend.repository.OverdueNotificationWriter.Chunk;
+import com.example.assignment_backend.repository.OverdueScanRunRepository;
+import com.example.assignment_backend.repository.OverdueScanSliceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Finds open loans borrowed more than {@code app.overdue.loan-days} ago and records one
+ * overdue_notifications row per loan. A run splits its borrow_date range into
+ * {@code app.overdue.parallelism} slices, and each slice is walked in keyset order over the partial
+ * open-loan index, {@code app.overdue.chunk-size} loans per short transaction that also advances the
+ * slice's checkpoint. A run cut short by a failure or restart is resumed from those checkpoints on
+ * startup or at the next schedule.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OverdueScanService {
+    private final OverdueScanRunRepository runRepository;
+    private final OverdueScanSliceRepository sliceRepository;
+    private final BorrowedBookRepository borrowedBookRepository;
+    private final OverdueNotificationWriter notificationWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.overdue.loan-days:14}")
+    private int loanDays;
+
+    @Value("${app.overdue.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.overdue.parallelism:2}")
+    private int parallelism;
+
+    private Counter scannedCounter;
+    private Counter notifiedCounter;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        scannedCounter = Counter.builder("app.overdue.scan.loans")
+                .description("Open loans examined by the overdue scanner")
+                .register(meterRegistry);
+        notifiedCounter = Counter.builder("app.overdue.scan.notifications")
+                .description("Overdue notifications created")
+                .register(meterRegistry);
+        chunkTimer = Timer.builder("app.overdue.scan.chunk")
+                .description("Time to scan one chunk and advance its checkpoint")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("app.overdue.scan.running", running, r -> r.get() ? 1 : 0)
+                .description("1 while an overdue scan is in progress")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.overdue.cron:0 0 2 * * *}")
+    public void scheduledScan() {
+        scan();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRun() {
+        if (runRepository.findFirstByCompletedAtIsNullOrderByIdDesc().isPresent()) {
+            scan();
+        }
+    }
+
+    /** @return false if a scan is already running in this instance */
+    public boolean startScan() {
+        if (running.get()) {
+            return false;
+        }
+        Thread.ofVirtual().name("overdue-scan").start(this::scan);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OverdueScanStatusDto> getLatestStatus() {
+        return runRepository.findFirstByOrderByIdDesc().map(run -> {
+            List<OverdueScanSliceDto> slices = sliceRepository.findByRunIdOrderBySliceNo(run.getId()).stream()
+                    .map(slice -> new OverdueScanSliceDto(slice.getSliceNo(), slice.getToDate(),
+                            slice.getLastBorrowDate(), slice.getScanned(), slice.getNotified(),
+                            slice.getCompletedAt()))
+                    .toList();
+            return new OverdueScanStatusDto(run.getId(), run.getCutoffDate(), run.getStartedAt(),
+                    run.getCompletedAt(), running.get() && run.getCompletedAt() == null,
+                    slices.stream().mapToLong(OverdueScanSliceDto::getScanned).sum(),
+                    slices.stream().mapToLong(OverdueScanSliceDto::getNotified).sum(), slices);
+        });
+    }
+
+    void scan() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Overdue scan already running; skipping");
+            return;
+        }
+        // The job reads back checkpoints it has just written, so it never reads from a replica.
+        ReadYourWrites.pin();
+        try {
+            OverdueScanRun run = runRepository.findFirstByCompletedAtIsNullOrderByIdDesc()
+                    .orElseGet(this::startRun);
+            List<Long> pending = sliceRepository.findByRunIdOrderBySliceNo(run.getId()).stream()
+                    .filter(slice -> slice.getCompletedAt() == null)
+                    .map(OverdueScanSlice::getId)
+                    .toList();
+            log.info("Overdue scan run {} (cutoff {}): {} slices to scan", run.getId(), run.getCutoffDate(),
+                    pending.size());
+            try (ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, parallelism))) {
+                List<Future<?>> slices = pending.stream()
+                        .<Future<?>>map(sliceId -> workers.submit(() -> scanSlice(run.getId(), sliceId)))
+                        .toList();
+                for (Future<?> slice : slices) {
+                    slice.get();
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> runRepository.findById(run.getId())
+                    .ifPresent(completed -> completed.complete(Instant.now())));
+            log.info("Overdue scan run {} completed", run.getId());
+        } catch (ExecutionException e) {
+            log.error("Overdue scan stopped; it resumes from its checkpoints on the next run", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ReadYourWrites.clear();
+            running.set(false);
+        }
+    }
+
+    // The overdue range is split evenly by days; slices are resumable independently of each other.
+    private OverdueScanRun startRun() {
+        return transactionTemplate.execute(status -> {
+            LocalDate cutoff = LocalDate.now().minusDays(loanDays + 1L);
+            OverdueScanRun run = runRepository.save(new OverdueScanRun(null, cutoff, Instant.now(), null));
+            Optional<LocalDate> oldest = borrowedBookRepository.findOldestOpenBorrowDate()
+                    .filter(date -> !date.isAfter(cutoff));
+            if (oldest.isPresent()) {
+                long days = ChronoUnit.DAYS.between(oldest.get(), cutoff) + 1;
+                int sliceCount = (int) Math.min(Math.max(1, parallelism), days);
+                for (int i = 0; i < sliceCount; i++) {
+                    LocalDate from = oldest.get().plusDays(days * i / sliceCount);
+                    LocalDate to = oldest.get().plusDays(days * (i + 1) / sliceCount - 1);
+                    // (from, 0) sorts before every loan borrowed on `from`
+                    sliceRepository.save(new OverdueScanSlice(null, run.getId(), i, to, from, 0L, 0L, 0L, null));
+                }
+            }
+            return run;
+        });
+    }
+
+    private void scanSlice(Long runId, Long sliceId) {
+        Chunk chunk;
+        do {
+            chunk = chunkTimer.record(() -> transactionTemplate.execute(status -> scanChunk(runId, sliceId)));
+            scannedCounter.increment(chunk.scanned());
+            notifiedCounter.increment(chunk.notified());
+        } while (chunk.scanned() == chunkSize);
+    }
+
+    private Chunk scanChunk(Long runId, Long sliceId) {
+        OverdueScanSlice slice = sliceRepository.findForUpdate(sliceId).orElseThrow();
+        if (slice.getCompletedAt() != null) {
+            return new Chunk(0, 0, slice.getLastBorrowDate(), slice.getLastId());
+        }
+        Chunk chunk = notificationWriter.writeChunk(runId, loanDays, slice.getLastBorrowDate(), slice.getLastId(),
+                slice.getToDate(), chunkSize);
+        slice.advance(chunk.lastBorrowDate(), chunk.lastId(), chunk.scanned(), chunk.notified());
+        if (chunk.scanned() < chunkSize) {
+            slice.complete(Instant.now());
+        }
+        return chunk;
+    }
+}
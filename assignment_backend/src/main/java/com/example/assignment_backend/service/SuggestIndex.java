@@ -0,0 +1,403 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.SuggestIndexStatsDto;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.SuggestionDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive word-prefix index over short labels (book titles, author and member names).
+ *
+ * <p>Each label is stored once in a slot table next to its primitive id. Every word start of a label
+ * becomes a token packed into a {@code long} as {@code slot << 8 | offset}, and tokens are kept in an
+ * array sorted by the label text from that offset, so lookups are a binary search followed by a short
+ * scan and no text is copied per token. Writes go to a small unsorted overlay that is merged into the
+ * sorted array once it fills up; replaced and deleted slots are tombstoned and dropped on the next
+ * compaction.
+ */
+final class SuggestIndex {
+    private static final int OFFSET_BITS = 8;
+    private static final int MAX_OFFSET = (1 << OFFSET_BITS) - 1;
+    private static final int MAX_TOKENS_PER_LABEL = 16;
+    private static final int OVERLAY_CAPACITY = 4096;
+
+    private final SuggestType type;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[0];
+    private String[] labels = new String[0];
+    private final BitSet dead = new BitSet();
+    private int slotCount;
+    private final LongIntMap slotById = new LongIntMap(16);
+
+    private long[] tokens = new long[0];
+    private int tokenCount;
+    private final long[] overlay = new long[OVERLAY_CAPACITY];
+    private int overlayCount;
+
+    SuggestIndex(SuggestType type) {
+        this.type = type;
+    }
+
+    /** Replaces the whole index with the given entries. */
+    void load(long[] entryIds, String[] entryLabels, int count) {
+        lock.writeLock().lock();
+        try {
+            ids = Arrays.copyOf(entryIds, Math.max(count, 16));
+            labels = Arrays.copyOf(entryLabels, Math.max(count, 16));
+            dead.clear();
+            slotById.clear();
+            slotCount = 0;
+            for (int i = 0; i < count; i++) {
+                int previous = slotById.get(ids[i]);
+                if (previous >= 0) {
+                    dead.set(previous);
+                }
+                slotById.put(ids[i], i);
+                slotCount++;
+            }
+            overlayCount = 0;
+            rebuildTokens();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void upsert(long id, String label) {
+        if (label == null) {
+            remove(id);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int existing = slotById.get(id);
+            if (existing >= 0) {
+                if (labels[existing].equals(label)) {
+                    return;
+                }
+                dead.set(existing);
+            }
+            // Make room before allocating: a merge may compact, which renumbers every slot.
+            int[] offsets = tokenOffsets(label);
+            if (overlayCount + offsets.length > overlay.length) {
+                mergeOverlay();
+            }
+            int slot = allocateSlot(id, label);
+            for (int offset : offsets) {
+                overlay[overlayCount++] = pack(slot, offset);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot >= 0) {
+                dead.set(slot);
+                slotById.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns up to {@code limit} entries having a word that starts with {@code prefix}. */
+    List<SuggestionDto> search(String prefix, int limit) {
+        String needle = fold(prefix.trim());
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // At most `limit` distinct live hits from the sorted table, plus every overlay hit.
+            long[] candidates = new long[limit + overlayCount];
+            int found = 0;
+            int distinct = 0;
+            for (int i = lowerBound(needle); i < tokenCount && distinct < limit; i++) {
+                long token = tokens[i];
+                if (comparePrefix(token, needle) != 0) {
+                    break;
+                }
+                if (!dead.get(slot(token)) && !containsSlot(candidates, found, slot(token))) {
+                    candidates[found++] = token;
+                    distinct++;
+                }
+            }
+            for (int i = 0; i < overlayCount; i++) {
+                long token = overlay[i];
+                if (!dead.get(slot(token)) && comparePrefix(token, needle) == 0) {
+                    candidates[found++] = token;
+                }
+            }
+            sort(candidates, 0, found);
+
+            List<SuggestionDto> results = new ArrayList<>(Math.min(limit, found));
+            long[] emitted = new long[Math.min(limit, found)];
+            for (int i = 0; i < found && results.size() < limit; i++) {
+                int slot = slot(candidates[i]);
+                if (!containsSlot(emitted, results.size(), slot)) {
+                    emitted[results.size()] = pack(slot, 0);
+                    results.add(new SuggestionDto(type, ids[slot], labels[slot]));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    SuggestIndexStatsDto stats() {
+        lock.readLock().lock();
+        try {
+            long labelBytes = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (!dead.get(slot)) {
+                    labelBytes += stringBytes(labels[slot]);
+                }
+            }
+            long bytes = ids.length * (long) Long.BYTES
+                    + labels.length * 4L
+                    + labelBytes
+                    + dead.size() / 8
+                    + slotById.estimatedBytes()
+                    + tokens.length * (long) Long.BYTES
+                    + overlay.length * (long) Long.BYTES;
+            int entries = slotById.size();
+            long perMillion = entries == 0 ? 0 : Math.round(bytes * 1_000_000d / entries);
+            return new SuggestIndexStatsDto(type, entries, tokenCount + overlayCount, bytes, perMillion);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateSlot(long id, String label) {
+        if (slotCount == ids.length) {
+            int capacity = Math.max(16, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+        }
+        int slot = slotCount++;
+        ids[slot] = id;
+        labels[slot] = label;
+        slotById.put(id, slot);
+        return slot;
+    }
+
+    private void mergeOverlay() {
+        if (dead.cardinality() > slotCount / 4) {
+            compact();
+            return;
+        }
+        sort(overlay, 0, overlayCount);
+        long[] merged = new long[tokenCount + overlayCount];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < tokenCount || j < overlayCount) {
+            long next;
+            if (j >= overlayCount || (i < tokenCount && compareTokens(tokens[i], overlay[j]) <= 0)) {
+                next = tokens[i++];
+            } else {
+                next = overlay[j++];
+            }
+            if (!dead.get(slot(next))) {
+                merged[n++] = next;
+            }
+        }
+        tokens = merged;
+        tokenCount = n;
+        overlayCount = 0;
+    }
+
+    // Renumbers live slots densely and re-tokenizes everything.
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!dead.get(slot)) {
+                ids[live] = ids[slot];
+                labels[live] = labels[slot];
+                live++;
+            }
+        }
+        Arrays.fill(labels, live, slotCount, null);
+        slotCount = live;
+        dead.clear();
+        slotById.clear();
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotById.put(ids[slot], slot);
+        }
+        overlayCount = 0;
+        rebuildTokens();
+    }
+
+    private void rebuildTokens() {
+        int count = 0;
+        long[] built = new long[Math.max(16, slotCount * 3)];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (dead.get(slot)) {
+                continue;
+            }
+            String label = labels[slot];
+            int emitted = 0;
+            for (int offset = 0; offset < label.length() && offset <= MAX_OFFSET
+                    && emitted < MAX_TOKENS_PER_LABEL; offset++) {
+                if (isTokenStart(label, offset)) {
+                    if (count == built.length) {
+                        built = Arrays.copyOf(built, count + (count >> 1));
+                    }
+                    built[count++] = pack(slot, offset);
+                    emitted++;
+                }
+            }
+        }
+        sort(built, 0, count);
+        tokens = built;
+        tokenCount = count;
+    }
+
+    private static int[] tokenOffsets(String label) {
+        int[] offsets = new int[MAX_TOKENS_PER_LABEL];
+        int emitted = 0;
+        for (int offset = 0; offset < label.length() && offset <= MAX_OFFSET
+                && emitted < MAX_TOKENS_PER_LABEL; offset++) {
+            if (isTokenStart(label, offset)) {
+                offsets[emitted++] = offset;
+            }
+        }
+        return Arrays.copyOf(offsets, emitted);
+    }
+
+    private static boolean isTokenStart(String label, int offset) {
+        if (!Character.isLetterOrDigit(label.charAt(offset))) {
+            return false;
+        }
+        return offset == 0 || !Character.isLetterOrDigit(label.charAt(offset - 1));
+    }
+
+    private int lowerBound(String needle) {
+        int low = 0;
+        int high = tokenCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(tokens[mid], needle) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Negative if the token text sorts before the needle, 0 if it starts with it, positive otherwise.
+    private int comparePrefix(long token, String needle) {
+        String label = labels[slot(token)];
+        int offset = offset(token);
+        for (int k = 0; k < needle.length(); k++) {
+            if (offset + k >= label.length()) {
+                return -1;
+            }
+            char c = fold(label.charAt(offset + k));
+            if (c != needle.charAt(k)) {
+                return c - needle.charAt(k);
+            }
+        }
+        return 0;
+    }
+
+    private int compareTokens(long a, long b) {
+        String la = labels[slot(a)];
+        String lb = labels[slot(b)];
+        int i = offset(a);
+        int j = offset(b);
+        while (i < la.length() && j < lb.length()) {
+            char ca = fold(la.charAt(i++));
+            char cb = fold(lb.charAt(j++));
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        int remaining = (la.length() - i) - (lb.length() - j);
+        return remaining != 0 ? remaining : Long.compare(a, b);
+    }
+
+    // Merge sort; the comparator reads label text, so the primitive Arrays.sort does not apply.
+    private void sort(long[] values, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        mergeSort(Arrays.copyOf(values, to), values, from, to);
+    }
+
+    // Sorts target[from, to) using source as scratch space; both must hold the same values on entry.
+    private void mergeSort(long[] source, long[] target, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                long value = target[i];
+                int j = i - 1;
+                while (j >= from && compareTokens(target[j], value) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(target, source, from, mid);
+        mergeSort(target, source, mid, to);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compareTokens(source[i], source[j]) <= 0)) {
+                target[k] = source[i++];
+            } else {
+                target[k] = source[j++];
+            }
+        }
+    }
+
+    private static boolean containsSlot(long[] tokenArray, int count, int slot) {
+        for (int i = 0; i < count; i++) {
+            if (slot(tokenArray[i]) == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long stringBytes(String value) {
+        // String header + byte[] header + Latin-1 payload, 8-byte aligned.
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    private static long pack(int slot, int offset) {
+        return ((long) slot << OFFSET_BITS) | offset;
+    }
+
+    private static int slot(long token) {
+        return (int) (token >>> OFFSET_BITS);
+    }
+
+    private static int offset(long token) {
+        return (int) (token & MAX_OFFSET);
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(fold(value.charAt(i)));
+        }
+        return folded.toString();
+    }
+}
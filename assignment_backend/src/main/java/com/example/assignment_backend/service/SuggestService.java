@@ -0,0 +1,147 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.dto.SuggestIndexStatsDto;
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.SuggestionDto;
+import com.example.assignment_backend.repository.AuthorRepository;
+import com.example.assignment_backend.repository.BookRepository;
+import com.example.assignment_backend.repository.LabelView;
+import com.example.assignment_backend.repository.MemberRepository;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Typeahead over book titles, author names and member names, answered from in-memory indexes.
+ * The indexes are loaded once the application is ready and then follow the services' writes, applied
+ * only once the writing transaction commits so a rolled-back write never reaches them.
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+    public static final int MAX_LIMIT = 50;
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+
+    private final Map<SuggestType, SuggestIndex> indexes = Map.of(
+            SuggestType.AUTHOR, new SuggestIndex(SuggestType.AUTHOR),
+            SuggestType.BOOK, new SuggestIndex(SuggestType.BOOK),
+            SuggestType.MEMBER, new SuggestIndex(SuggestType.MEMBER));
+
+    // Writes that arrive while an index is being loaded are replayed on top of the loaded snapshot.
+    // Queueing, applying and draining all happen under pendingLock, so a write is either queued before
+    // the drain or applied after it, never left in the queue for the next reload.
+    private final Object pendingLock = new Object();
+    private final Queue<Runnable> pendingWrites = new ArrayDeque<>();
+    private boolean loading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexes() {
+        for (SuggestType type : SuggestType.values()) {
+            reload(type);
+        }
+    }
+
+    /** Reloads one index from the database, e.g. after a bulk import. */
+    @Transactional(readOnly = true)
+    public synchronized void reload(SuggestType type) {
+        synchronized (pendingLock) {
+            pendingWrites.clear();
+            loading = true;
+        }
+        try {
+            Stream<LabelView> rows = switch (type) {
+                case AUTHOR -> authorRepository.streamLabels();
+                case BOOK -> bookRepository.streamLabels();
+                case MEMBER -> memberRepository.streamLabels();
+            };
+            load(type, rows);
+        } finally {
+            synchronized (pendingLock) {
+                loading = false;
+                Runnable write;
+                while ((write = pendingWrites.poll()) != null) {
+                    write.run();
+                }
+            }
+        }
+    }
+
+    public List<SuggestionDto> suggest(String query, SuggestType type, int limit) {
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (type != null) {
+            return indexes.get(type).search(query, boundedLimit);
+        }
+        List<SuggestionDto> results = new ArrayList<>();
+        for (SuggestType each : SuggestType.values()) {
+            results.addAll(indexes.get(each).search(query, boundedLimit));
+        }
+        return results;
+    }
+
+    public List<SuggestIndexStatsDto> stats() {
+        return Arrays.stream(SuggestType.values()).map(type -> indexes.get(type).stats()).toList();
+    }
+
+    public void onSaved(SuggestType type, Long id, String label) {
+        afterCommit(() -> indexes.get(type).upsert(id, label));
+    }
+
+    public void onDeleted(SuggestType type, Long id) {
+        afterCommit(() -> indexes.get(type).remove(id));
+    }
+
+    private void afterCommit(Runnable write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(write);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(write);
+            }
+        });
+    }
+
+    private void apply(Runnable write) {
+        synchronized (pendingLock) {
+            if (loading) {
+                pendingWrites.add(write);
+            }
+            write.run();
+        }
+    }
+
+    private void load(SuggestType type, Stream<LabelView> rows) {
+        long[] ids = new long[1024];
+        String[] labels = new String[1024];
+        int count = 0;
+        try (rows) {
+            for (LabelView row : (Iterable<LabelView>) rows::iterator) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    labels = Arrays.copyOf(labels, count * 2);
+                }
+                ids[count] = row.getId();
+                labels[count] = row.getLabel();
+                count++;
+            }
+        }
+        indexes.get(type).load(ids, labels, count);
+    }
+}
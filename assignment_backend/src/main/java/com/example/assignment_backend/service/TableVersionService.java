@@ -0,0 +1,26 @@
+package com.example.assignment_backend.service;
+
+import com.example.assignment_backend.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the list-ETag counters cheap to read: writers append delta rows (V10 migration) and this job
+ * folds them into the per-table base, so a conditional list request counts at most one interval's worth.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TableVersionService {
+    private final TableVersionRepository repository;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.table-versions.fold-interval-ms:10000}")
+    public void fold() {
+        int tables = repository.foldDeltas();
+        log.debug("Folded table version deltas of {} tables", tables);
+    }
+}
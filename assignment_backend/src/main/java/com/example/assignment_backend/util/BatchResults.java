@@ -0,0 +1,43 @@
+package com.example.assignment_backend.util;
+
+import com.example.assignment_backend.dto.BatchResultDto;
+import com.example.assignment_backend.exception.BatchTooLargeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class BatchResults {
+
+    private BatchResults() {
+    }
+
+    /**
+     * Loads {@code ids} with one {@code finder} query and lays the rows out in request order, reporting
+     * ids that matched nothing.
+     *
+     * @throws BatchTooLargeException if more than {@code maxIds} distinct ids are requested
+     */
+    public static <T, R> BatchResultDto<R> load(List<Long> ids, int maxIds, Function<List<Long>, List<T>> finder,
+            Function<T, Long> idOf, Function<T, R> mapper) {
+        List<Long> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > maxIds) {
+            throw new BatchTooLargeException("at most " + maxIds + " ids per request");
+        }
+        Map<Long, T> found = distinct.isEmpty()
+                ? Map.of()
+                : finder.apply(distinct).stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<R> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinct) {
+            T row = found.get(id);
+            if (row == null) {
+                missingIds.add(id);
+            } else {
+                content.add(mapper.apply(row));
+            }
+        }
+        return new BatchResultDto<>(content, missingIds);
+    }
+}
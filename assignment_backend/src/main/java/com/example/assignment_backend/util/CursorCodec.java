@@ -0,0 +1,90 @@
+package com.example.assignment_backend.util;
+
+import com.example.assignment_backend.exception.InvalidCursorException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Turns keyset scroll positions into opaque, URL-safe cursor strings and back.
+ * Each key keeps a type tag so the decoded values bind with the column's Java type.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(KeysetScrollPosition position) {
+        StringJoiner joiner = new StringJoiner("&");
+        position.getKeys().forEach((key, value) -> joiner.add(encodePart(key) + "=" + tag(value)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                int colon = pair.indexOf(':', eq + 1);
+                if (eq <= 0 || colon != eq + 2) {
+                    throw new InvalidCursorException("Malformed cursor");
+                }
+                String key = decodePart(pair.substring(0, eq));
+                keys.put(key, untag(pair.charAt(eq + 1), decodePart(pair.substring(colon + 1))));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    private static String tag(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor keys cannot be null");
+        }
+        if (value instanceof Long l) {
+            return "L:" + l;
+        }
+        if (value instanceof Integer i) {
+            return "I:" + i;
+        }
+        if (value instanceof LocalDate d) {
+            return "D:" + d;
+        }
+        if (value instanceof String s) {
+            return "S:" + encodePart(s);
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type: " + value.getClass().getName());
+    }
+
+    private static Object untag(char type, String value) {
+        return switch (type) {
+            case 'L' -> Long.valueOf(value);
+            case 'I' -> Integer.valueOf(value);
+            case 'D' -> LocalDate.parse(value);
+            case 'S' -> value;
+            default -> throw new InvalidCursorException("Malformed cursor");
+        };
+    }
+
+    private static String encodePart(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodePart(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.assignment_backend.util;
+
+import com.example.assignment_backend.dto.CursorPageDto;
+import com.example.assignment_backend.exception.InvalidCursorException;
+import com.example.assignment_backend.exception.InvalidSortException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+public final class CursorPages {
+
+    private CursorPages() {
+    }
+
+    public static <T, R> CursorPageDto<R> of(Window<T> window, Function<T, R> mapper, Long estimatedTotal) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = CursorCodec.encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        List<R> content = window.getContent().stream().map(mapper).toList();
+        return new CursorPageDto<>(content, content.size(), window.hasNext(), nextCursor, estimatedTotal);
+    }
+
+    // A keyset position cannot hold null and `key > null` matches nothing, so scrolls only sort on
+    // properties that are never null.
+    public static Sort requireNonNullKeys(Sort sort, Set<String> nullableProperties) {
+        for (Sort.Order order : sort) {
+            if (nullableProperties.contains(order.getProperty())) {
+                throw new InvalidSortException(order.getProperty() + " can be null and cannot be used with after");
+            }
+        }
+        return sort;
+    }
+
+    /**
+     * Decodes {@code after} for a scroll ordered by {@code sort}. A keyset position holds one key per
+     * sort property plus {@code id}, which the scroll appends as a tie-breaker; a cursor issued for
+     * another sort, or edited by hand, would otherwise fail inside the query.
+     */
+    public static KeysetScrollPosition position(String after, Sort sort) {
+        KeysetScrollPosition position = CursorCodec.decode(after);
+        if (position.isInitial()) {
+            return position;
+        }
+        Set<String> expected = new LinkedHashSet<>();
+        sort.forEach(order -> expected.add(order.getProperty()));
+        expected.add("id");
+        if (!position.getKeys().keySet().equals(expected)) {
+            throw new InvalidCursorException("Cursor does not match the sort " + String.join(",", expected));
+        }
+        return position;
+    }
+}
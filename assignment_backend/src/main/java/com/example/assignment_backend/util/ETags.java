@@ -0,0 +1,68 @@
+package com.example.assignment_backend.util;
+
+import com.example.assignment_backend.dto.AuthorResponseDto;
+import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.dto.BorrowedBookResponseDto;
+import com.example.assignment_backend.dto.MemberResponseDto;
+import com.example.assignment_backend.exception.PreconditionFailedException;
+import com.example.assignment_backend.exception.PreconditionRequiredException;
+
+/**
+ * Entity tags for the REST resources. A single resource gets a strong tag made of its own row
+ * version and the versions of the rows embedded in its JSON ({@code "<book>.<author>"} for a book),
+ * so the tag can be computed either from the response DTO or, without loading anything, from the
+ * repositories' {@code findVersionKeyById} queries. Lists get a weak tag from the table change counters.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String strong(String versionKey) {
+        return "\"" + versionKey + "\"";
+    }
+
+    public static String weak(long tableVersion) {
+        return "W/\"" + tableVersion + "\"";
+    }
+
+    /**
+     * Row version an {@code If-Match} header refers to: the first component of a strong tag issued
+     * by this class (embedded rows' versions do not take part in the match). Conditional-only
+     * endpoints pass a missing header through and get 428 Precondition Required.
+     */
+    public static long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match with the resource's ETag is required");
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be the strong ETag of the resource");
+        }
+        String key = tag.substring(1, tag.length() - 1);
+        int dot = key.indexOf('.');
+        try {
+            return Long.parseLong(dot < 0 ? key : key.substring(0, dot));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match must be the strong ETag of the resource");
+        }
+    }
+
+    public static String of(AuthorResponseDto author) {
+        return strong(String.valueOf(author.getVersion()));
+    }
+
+    public static String of(BookResponseDto book) {
+        return strong(book.getVersion() + "." + book.getAuthor().getVersion());
+    }
+
+    public static String of(MemberResponseDto member) {
+        return strong(String.valueOf(member.getVersion()));
+    }
+
+    public static String of(BorrowedBookResponseDto borrowedBook) {
+        BookResponseDto book = borrowedBook.getBook();
+        return strong(borrowedBook.getVersion() + "." + book.getVersion() + "." + book.getAuthor().getVersion()
+                + "." + borrowedBook.getMember().getVersion());
+    }
+}
@@ -0,0 +1,24 @@
+-- Writers no longer update the shared table_versions row. That row lock serialized every write to a
+-- table until commit, only to compute a weak list ETag, and could deadlock transactions touching two
+-- tracked tables in opposite orders. Each writing statement now appends a delta row instead, which
+-- takes no lock another writer waits for; a table's version is its folded base in table_versions plus
+-- its pending deltas. Both are transactional, so a new version still becomes visible together with the
+-- data. TableVersionService folds the deltas into the base periodically, in one statement, which keeps
+-- the sum unchanged for every snapshot.
+CREATE TABLE table_version_deltas (
+    table_name VARCHAR(64) NOT NULL
+);
+CREATE INDEX idx_table_version_deltas_table_name ON table_version_deltas (table_name);
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO table_version_deltas (table_name) VALUES (TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Remaining row locks a loan write takes, always in this order, so they cannot form a cycle with each
+-- other: the loan row; book_loan_stats, member_loan_stats, daily_loan_stats and category_open_loans
+-- (V6 triggers, per affected loan, in that order); change_log_head last, just before commit (V8).
+-- daily_loan_stats and change_log_head are shared by all loan writers of a day and by all writers
+-- respectively; BorrowContentionPerfIT measures what they cost.
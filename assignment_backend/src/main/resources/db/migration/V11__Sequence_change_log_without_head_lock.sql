@@ -0,0 +1,23 @@
+-- Writers no longer number their change-log entries under the change_log_head row lock, which every
+-- write transaction held from just before commit until commit and so serialized all writers in the
+-- system. A writer now only appends its entries to change_log_pending, keyed by a sequence and stamped
+-- with its transaction id; nothing another writer waits for.
+--
+-- Feed sequence numbers are assigned afterwards by ChangeLogWriter.sequence, which the feed runs before
+-- it reads. It moves the pending entries of every transaction older than the oldest one still running
+-- (xid < pg_snapshot_xmin) into change_log, numbered after the current head in transaction order. No
+-- transaction below that bound can still commit an entry, so numbers are handed out once, without gaps,
+-- and a reader that has seen seq n has seen every entry below n, as before. The cost is latency: an entry
+-- reaches the feed once every transaction that started before its own has ended.
+--
+-- change_log_head keeps the last assigned seq and the retention horizon. Only the sequencer and
+-- compaction update it; the sequencer skips a round rather than wait when compaction holds the row.
+CREATE TABLE change_log_pending (
+    id BIGSERIAL PRIMARY KEY,
+    xid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_change_log_pending_xid ON change_log_pending (xid, id);
@@ -0,0 +1,10 @@
+-- Trigram indexes so the borrowed-books title/member substring filters
+-- (lower(x) LIKE '%term%') can use an index instead of scanning the table.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_books_title_trgm ON books USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_members_name_trgm ON members USING gin (lower(name) gin_trgm_ops);
+
+-- The filters resolve matching books/members first and then look up their loans.
+CREATE INDEX IF NOT EXISTS idx_borrowed_books_book_id ON borrowed_books (book_id);
+CREATE INDEX IF NOT EXISTS idx_borrowed_books_member_id ON borrowed_books (member_id);
@@ -0,0 +1,6 @@
+-- Author, Book and Member ids are now allocated by Hibernate from these sequences in blocks of 50
+-- (pooled optimizer, allocationSize = 50), which lets inserts be sent as JDBC batches.
+-- Inserts outside the application must not rely on the column defaults any more.
+ALTER SEQUENCE authors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE books_id_seq INCREMENT BY 50;
+ALTER SEQUENCE members_id_seq INCREMENT BY 50;
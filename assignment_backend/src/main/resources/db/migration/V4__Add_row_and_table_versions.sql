@@ -0,0 +1,36 @@
+-- Row versions back optimistic locking (@Version) and the strong ETags of single-resource GETs.
+ALTER TABLE authors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE members ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE borrowed_books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- One change counter per table, bumped once per writing statement. List endpoints derive weak ETags
+-- from these, so a conditional list request costs a single primary-key lookup. The counter row is
+-- updated inside the writing transaction, so a new value only becomes visible together with the data.
+CREATE TABLE table_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO table_versions (table_name, version)
+VALUES ('authors', 0), ('books', 0), ('members', 0), ('borrowed_books', 0);
+
+CREATE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER authors_bump_table_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON authors
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER books_bump_table_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON books
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER members_bump_table_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON members
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER borrowed_books_bump_table_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON borrowed_books
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
@@ -0,0 +1,47 @@
+-- A copy can be on loan at most once: at most one open loan (return_date IS NULL) per book.
+-- Concurrent borrows of the same book are rejected by this index, without application-level locks.
+-- It also serves availability lookups as an index-only scan.
+
+-- Existing data may hold several open loans of one book, which the index cannot be built over. All but
+-- the newest of them are closed below; the closed loans are recorded here first, as they were, with the
+-- loan that superseded them and the return date the migration gave them, so the change can be reviewed
+-- and reverted by hand.
+CREATE TABLE open_loan_cleanup_audit (
+    loan_id BIGINT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    borrow_date DATE NOT NULL,
+    version BIGINT NOT NULL,
+    superseded_by BIGINT NOT NULL,
+    assigned_return_date DATE NOT NULL,
+    closed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO open_loan_cleanup_audit (loan_id, book_id, member_id, borrow_date, version, superseded_by,
+                                     assigned_return_date)
+SELECT bb.id, bb.book_id, bb.member_id, bb.borrow_date, bb.version, newest.id,
+       GREATEST(bb.borrow_date, CURRENT_DATE)
+FROM borrowed_books bb
+JOIN (SELECT book_id, max(id) AS id FROM borrowed_books WHERE return_date IS NULL GROUP BY book_id) newest
+  ON newest.book_id = bb.book_id
+WHERE bb.return_date IS NULL
+  AND bb.id < newest.id;
+
+UPDATE borrowed_books bb
+SET return_date = audit.assigned_return_date,
+    version = bb.version + 1
+FROM open_loan_cleanup_audit audit
+WHERE audit.loan_id = bb.id;
+
+DO $$
+DECLARE
+    closed BIGINT;
+    books TEXT;
+BEGIN
+    SELECT count(*), string_agg(DISTINCT book_id::text, ', ') INTO closed, books FROM open_loan_cleanup_audit;
+    IF closed > 0 THEN
+        RAISE WARNING 'Closed % superseded open loan(s) of book(s) %; see open_loan_cleanup_audit', closed, books;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX ux_borrowed_books_open_book ON borrowed_books (book_id) WHERE return_date IS NULL;
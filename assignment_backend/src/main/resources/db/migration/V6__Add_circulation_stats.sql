@@ -0,0 +1,107 @@
+-- Circulation statistics kept as rollups, so dashboard reads never scan the loan history.
+-- Row triggers on borrowed_books (and books, for category changes) apply each change in the same
+-- transaction as the loan write, whichever code path performs it.
+
+CREATE TABLE book_loan_stats (
+    book_id BIGINT PRIMARY KEY,
+    loan_count BIGINT NOT NULL
+);
+CREATE INDEX idx_book_loan_stats_rank ON book_loan_stats (loan_count DESC, book_id);
+
+CREATE TABLE member_loan_stats (
+    member_id BIGINT PRIMARY KEY,
+    loan_count BIGINT NOT NULL
+);
+CREATE INDEX idx_member_loan_stats_rank ON member_loan_stats (loan_count DESC, member_id);
+
+-- '' stands for books without a category
+CREATE TABLE category_open_loans (
+    category VARCHAR(100) PRIMARY KEY,
+    open_count BIGINT NOT NULL
+);
+
+CREATE TABLE daily_loan_stats (
+    day DATE PRIMARY KEY,
+    loan_count BIGINT NOT NULL
+);
+
+CREATE FUNCTION apply_loan_delta(p_book_id BIGINT, p_member_id BIGINT, p_borrow_date DATE, p_open BOOLEAN,
+                                 p_delta INTEGER) RETURNS void AS $$
+BEGIN
+    INSERT INTO book_loan_stats (book_id, loan_count) VALUES (p_book_id, p_delta)
+    ON CONFLICT (book_id) DO UPDATE SET loan_count = book_loan_stats.loan_count + p_delta;
+    INSERT INTO member_loan_stats (member_id, loan_count) VALUES (p_member_id, p_delta)
+    ON CONFLICT (member_id) DO UPDATE SET loan_count = member_loan_stats.loan_count + p_delta;
+    INSERT INTO daily_loan_stats (day, loan_count) VALUES (p_borrow_date, p_delta)
+    ON CONFLICT (day) DO UPDATE SET loan_count = daily_loan_stats.loan_count + p_delta;
+    IF p_open THEN
+        INSERT INTO category_open_loans (category, open_count)
+        SELECT COALESCE(b.category, ''), p_delta FROM books b WHERE b.id = p_book_id
+        ON CONFLICT (category) DO UPDATE SET open_count = category_open_loans.open_count + p_delta;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION borrowed_books_stats_trigger() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND OLD.book_id = NEW.book_id AND OLD.member_id = NEW.member_id AND OLD.borrow_date = NEW.borrow_date
+       AND (OLD.return_date IS NULL) = (NEW.return_date IS NULL) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_loan_delta(OLD.book_id, OLD.member_id, OLD.borrow_date, OLD.return_date IS NULL, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_loan_delta(NEW.book_id, NEW.member_id, NEW.borrow_date, NEW.return_date IS NULL, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER borrowed_books_stats
+    AFTER INSERT OR UPDATE OR DELETE ON borrowed_books
+    FOR EACH ROW EXECUTE FUNCTION borrowed_books_stats_trigger();
+
+-- Moving a book to another category moves its open loan (at most one) with it.
+CREATE FUNCTION books_category_stats_trigger() RETURNS trigger AS $$
+DECLARE
+    open_loans BIGINT;
+BEGIN
+    SELECT count(*) INTO open_loans FROM borrowed_books WHERE book_id = NEW.id AND return_date IS NULL;
+    IF open_loans > 0 THEN
+        UPDATE category_open_loans SET open_count = open_count - open_loans
+        WHERE category = COALESCE(OLD.category, '');
+        INSERT INTO category_open_loans (category, open_count) VALUES (COALESCE(NEW.category, ''), open_loans)
+        ON CONFLICT (category) DO UPDATE SET open_count = category_open_loans.open_count + open_loans;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER books_category_stats
+    AFTER UPDATE OF category ON books
+    FOR EACH ROW WHEN (OLD.category IS DISTINCT FROM NEW.category)
+    EXECUTE FUNCTION books_category_stats_trigger();
+
+-- Recomputes every rollup from borrowed_books. Writers to borrowed_books and books wait while it runs
+-- (readers do not), so the result is exact. Used for recovery via POST /api/stats/rebuild.
+CREATE FUNCTION rebuild_circulation_stats() RETURNS void AS $$
+BEGIN
+    LOCK TABLE borrowed_books, books IN SHARE MODE;
+    TRUNCATE book_loan_stats, member_loan_stats, category_open_loans, daily_loan_stats;
+    INSERT INTO book_loan_stats (book_id, loan_count)
+    SELECT book_id, count(*) FROM borrowed_books GROUP BY book_id;
+    INSERT INTO member_loan_stats (member_id, loan_count)
+    SELECT member_id, count(*) FROM borrowed_books GROUP BY member_id;
+    INSERT INTO daily_loan_stats (day, loan_count)
+    SELECT borrow_date, count(*) FROM borrowed_books GROUP BY borrow_date;
+    INSERT INTO category_open_loans (category, open_count)
+    SELECT COALESCE(b.category, ''), count(*)
+    FROM borrowed_books bb JOIN books b ON b.id = bb.book_id
+    WHERE bb.return_date IS NULL
+    GROUP BY COALESCE(b.category, '');
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT rebuild_circulation_stats();
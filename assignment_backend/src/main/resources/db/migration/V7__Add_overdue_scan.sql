@@ -0,0 +1,39 @@
+-- Overdue-loan scanner (OverdueScanService). The job walks open loans in (borrow_date, id) order;
+-- the partial index holds only open loans, so its size follows the open set, not the loan history.
+CREATE INDEX idx_borrowed_books_open_borrow_date ON borrowed_books (borrow_date, id) WHERE return_date IS NULL;
+
+CREATE TABLE overdue_scan_runs (
+    id BIGSERIAL PRIMARY KEY,
+    cutoff_date DATE NOT NULL,
+    started_at TIMESTAMPTZ NOT NULL,
+    completed_at TIMESTAMPTZ
+);
+
+-- One row per slice of the borrow_date range; last_borrow_date/last_id is the keyset checkpoint,
+-- advanced in the same transaction as the chunk it covers, so a restarted run resumes from it.
+CREATE TABLE overdue_scan_slices (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES overdue_scan_runs (id) ON DELETE CASCADE,
+    slice_no INTEGER NOT NULL,
+    to_date DATE NOT NULL,
+    last_borrow_date DATE NOT NULL,
+    last_id BIGINT NOT NULL,
+    scanned BIGINT NOT NULL DEFAULT 0,
+    notified BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMPTZ,
+    CONSTRAINT uk_overdue_scan_slices_run_slice UNIQUE (run_id, slice_no)
+);
+
+-- At most one notification per loan: re-scanning an already notified loan is a no-op.
+CREATE TABLE overdue_notifications (
+    id BIGSERIAL PRIMARY KEY,
+    borrowed_book_id BIGINT NOT NULL REFERENCES borrowed_books (id) ON DELETE CASCADE,
+    member_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    borrow_date DATE NOT NULL,
+    due_date DATE NOT NULL,
+    run_id BIGINT NOT NULL REFERENCES overdue_scan_runs (id),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT uk_overdue_notifications_loan UNIQUE (borrowed_book_id)
+);
+CREATE INDEX idx_overdue_notifications_member_id ON overdue_notifications (member_id);
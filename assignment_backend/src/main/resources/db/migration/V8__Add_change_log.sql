@@ -0,0 +1,20 @@
+-- Change feed (GET /api/changes). Sequence numbers are taken from change_log_head inside the
+-- writing transaction, just before it commits. The row lock on the head is held until commit, so
+-- seq order is commit order: once a reader sees seq n, every entry below n is already visible.
+CREATE TABLE change_log_head (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    seq BIGINT NOT NULL,
+    -- Highest seq dropped by retention; a client syncing from below it has missed entries.
+    horizon BIGINT NOT NULL
+);
+INSERT INTO change_log_head (id, seq, horizon) VALUES (1, 0, 0);
+
+CREATE TABLE change_log (
+    seq BIGINT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL
+);
+-- Finds superseded entries during compaction.
+CREATE INDEX idx_change_log_entity ON change_log (entity_type, entity_id, seq);
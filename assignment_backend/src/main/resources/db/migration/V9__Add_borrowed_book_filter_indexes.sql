@@ -0,0 +1,17 @@
+-- Indexes behind the structured borrowed-books filters (bookId, memberId, borrowedFrom/To,
+-- returnedFrom/To, status). The per-book and per-member indexes lead with the id and carry
+-- borrow_date, so "loans of X in a date range" is a single index range; they replace the
+-- single-column indexes from V2, which they cover.
+CREATE INDEX idx_borrowed_books_book_borrow_date ON borrowed_books (book_id, borrow_date);
+DROP INDEX IF EXISTS idx_borrowed_books_book_id;
+CREATE INDEX idx_borrowed_books_member_borrow_date ON borrowed_books (member_id, borrow_date);
+DROP INDEX IF EXISTS idx_borrowed_books_member_id;
+
+-- borrowDate and borrowedFrom/To on their own; status=returned combined with a borrow range.
+CREATE INDEX idx_borrowed_books_borrow_date ON borrowed_books (borrow_date);
+
+-- returnedFrom/To. Open loans have no return date and are left out of the index.
+CREATE INDEX idx_borrowed_books_return_date ON borrowed_books (return_date) WHERE return_date IS NOT NULL;
+
+-- status=open and status=overdue (open, borrow_date below the cutoff) use the partial open-loan index
+-- on (borrow_date, id) from V7; status=open with bookId uses ux_borrowed_books_open_book from V5.
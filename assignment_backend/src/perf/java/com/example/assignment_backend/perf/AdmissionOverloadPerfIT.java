@@ -0,0 +1,115 @@
+package com.example.assignment_backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Overloads the list class with {@code perf.admission.flood-clients} clients (default 200) running
+ * wide ranked searches and exports, while {@code perf.admission.point-clients} clients (default 16)
+ * fetch single loans. With admission control on, the flood is cut down with 503s and point reads
+ * keep their latency: the run fails if any point read was refused or their p99 exceeds
+ * {@code perf.admission.point-p99-ms} (default 250). Reports to
+ * {@code target/perf-reports/admission-report.json}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdmissionOverloadPerfIT {
+    private static final int FLOOD_CLIENTS = Integer.getInteger("perf.admission.flood-clients", 200);
+    private static final int POINT_CLIENTS = Integer.getInteger("perf.admission.point-clients", 16);
+    private static final double POINT_P99_MS = Double.parseDouble(
+            System.getProperty("perf.admission.point-p99-ms", "250"));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("perf.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.duration", 20));
+    private static final double SCALE = Double.parseDouble(System.getProperty("perf.scale", "1.0"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.report-dir", "target/perf-reports"));
+
+    private final PerfDataSeeder.Volumes volumes = PerfDataSeeder.Volumes.scaled(SCALE);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PerfDatabase.start();
+        registry.add("spring.datasource.url", PerfDatabase::url);
+        registry.add("spring.datasource.username", PerfDatabase::username);
+        registry.add("spring.datasource.password", PerfDatabase::password);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+    }
+
+    @Test
+    void pointReadsSurviveListOverload() throws Exception {
+        if (!PerfDataSeeder.isSeeded(jdbc, volumes)) {
+            PerfDataSeeder.seed(jdbc, volumes);
+        }
+        String[] words = { "river", "shadow", "garden", "winter", "harbor", "falcon", "smith", "olivia" };
+        Supplier<HttpRequest> flood = () -> ThreadLocalRandom.current().nextInt(10) == 0
+                ? request("/api/borrowed-books/export?format=CSV")
+                : request("/api/borrowed-books?size=50&rank=true&search="
+                        + words[ThreadLocalRandom.current().nextInt(words.length)]);
+        Supplier<HttpRequest> pointReads = () -> request(
+                "/api/borrowed-books/" + (1 + ThreadLocalRandom.current().nextLong(volumes.loans())));
+
+        CompletableFuture<LoadDriver.Result> flooding = CompletableFuture.supplyAsync(() -> {
+            try {
+                return LoadDriver.run(flood, FLOOD_CLIENTS, WARMUP, DURATION);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        LoadDriver.Result points = LoadDriver.run(pointReads, POINT_CLIENTS, WARMUP, DURATION);
+        LoadDriver.Result flooded = flooding.get();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("floodClients", FLOOD_CLIENTS);
+        report.put("pointClients", POINT_CLIENTS);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("floodServed", flooded.sortedNanos().length);
+        report.put("floodRejectedOrFailed", flooded.errors());
+        report.put("pointServed", points.sortedNanos().length);
+        report.put("pointFailed", points.errors());
+        report.put("pointP50Ms", points.percentileMicros(50) / 1000.0);
+        report.put("pointP99Ms", points.percentileMicros(99) / 1000.0);
+        Files.createDirectories(REPORT_DIR);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+                .writeValue(REPORT_DIR.resolve("admission-report.json").toFile(), report);
+        log.info("Admission overload: {}", report);
+
+        assertEquals(0, points.errors(), "point reads were refused or failed");
+        assertTrue(points.percentileMicros(99) / 1000.0 <= POINT_P99_MS,
+                () -> "point read p99 " + points.percentileMicros(99) / 1000.0 + " ms exceeds " + POINT_P99_MS);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.assignment_backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Hammers a single book from {@code perf.contention.threads} threads (default 200), each looping
+ * borrow-then-return for {@code perf.duration} seconds. Exactly one borrower may hold the copy at a
+ * time: the open-loan unique index turns every other borrow into a 409. Reports borrow/return latency
+ * and outcome counts to {@code target/perf-reports/contention-report.json} and checks that the
+ * book never ended up with more than one open loan. A second run borrows distinct books to measure
+ * the rows all loan writers share ({@code hot-row-report.json}).
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BorrowContentionPerfIT {
+    private static final int THREADS = Integer.getInteger("perf.contention.threads", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.duration", 20));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.report-dir", "target/perf-reports"));
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PerfDatabase.start();
+        registry.add("spring.datasource.url", PerfDatabase::url);
+        registry.add("spring.datasource.username", PerfDatabase::username);
+        registry.add("spring.datasource.password", PerfDatabase::password);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+        // Measures the endpoints themselves; AdmissionOverloadPerfIT covers admission control.
+        registry.add("app.admission.enabled", () -> false);
+    }
+
+    @Test
+    void concurrentBorrowsOfOneBook() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            long authorId = create(client, "/api/authors", "{\"name\":\"Contention Author\"}");
+            long bookId = create(client, "/api/books",
+                    "{\"title\":\"Contended Copy\",\"authorId\":" + authorId + "}");
+            long memberId = create(client, "/api/members", "{\"name\":\"Contention Member\"}");
+            String borrowBody = "{\"bookId\":" + bookId + ",\"memberId\":" + memberId
+                    + ",\"borrowDate\":\"2025-01-01\"}";
+
+            long deadlocksBefore = deadlocks();
+            Outcome outcome = hammer(client, executor, thread -> borrowBody);
+
+            Integer openLoans = jdbc.queryForObject(
+                    "SELECT count(*) FROM borrowed_books WHERE book_id = ? AND return_date IS NULL",
+                    Integer.class, bookId);
+            Integer loans = jdbc.queryForObject(
+                    "SELECT count(*) FROM borrowed_books WHERE book_id = ?", Integer.class, bookId);
+            report("contention-report.json", "Borrow contention", outcome, deadlocks() - deadlocksBefore);
+
+            assertTrue(openLoans <= 1, "book has " + openLoans + " open loans");
+            assertEquals(outcome.borrows().length, loans, "every accepted borrow is exactly one loan row");
+            assertEquals(0, outcome.failures(), "unexpected non-2xx/409 responses");
+        }
+    }
+
+    /**
+     * Every thread borrows and returns its own book, so the open-loan index never conflicts and the
+     * only row writers share is the day's daily_loan_stats row (see the V10 migration for the lock
+     * order; since V11 writers no longer lock change_log_head). Compare its throughput with the single-book run above; deadlocks
+     * are counted from pg_stat_database and must stay at zero.
+     */
+    @Test
+    void concurrentBorrowsOfDistinctBooks() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            long authorId = create(client, "/api/authors", "{\"name\":\"Hot Row Author\"}");
+            String[] borrowBodies = new String[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                long bookId = create(client, "/api/books",
+                        "{\"title\":\"Hot Row Copy " + t + "\",\"authorId\":" + authorId + "}");
+                long memberId = create(client, "/api/members", "{\"name\":\"Hot Row Member " + t + "\"}");
+                borrowBodies[t] = "{\"bookId\":" + bookId + ",\"memberId\":" + memberId
+                        + ",\"borrowDate\":\"2025-01-02\"}";
+            }
+
+            long deadlocksBefore = deadlocks();
+            Outcome outcome = hammer(client, executor, thread -> borrowBodies[thread]);
+            long deadlocks = deadlocks() - deadlocksBefore;
+            report("hot-row-report.json", "Distinct-book borrows", outcome, deadlocks);
+
+            assertEquals(0, outcome.conflicts(), "borrows of distinct books conflicted");
+            assertEquals(0, outcome.failures(), "unexpected non-2xx responses");
+            assertEquals(0, deadlocks, "deadlocks between loan writers");
+        }
+    }
+
+    // Each of THREADS workers loops borrow-then-return for DURATION with its own borrow body.
+    private Outcome hammer(HttpClient client, ExecutorService executor, IntFunction<String> borrowBody)
+            throws Exception {
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long stopAt = System.nanoTime() + DURATION.toNanos();
+        List<Future<long[][]>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            String body = borrowBody.apply(t);
+            workers.add(executor.submit(() -> {
+                LongList borrows = new LongList();
+                LongList returns = new LongList();
+                while (System.nanoTime() < stopAt) {
+                    long start = System.nanoTime();
+                    HttpResponse<String> borrowed = client.send(post("/api/borrowed-books", body),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (borrowed.statusCode() == 409) {
+                        conflicts.incrementAndGet();
+                        continue;
+                    }
+                    if (borrowed.statusCode() != 200) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    borrows.add(System.nanoTime() - start);
+                    long loanId = idOf(borrowed.body());
+                    start = System.nanoTime();
+                    HttpResponse<Void> returned = client.send(
+                            post("/api/borrowed-books/" + loanId + "/return", null),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (returned.statusCode() == 200) {
+                        returns.add(System.nanoTime() - start);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                }
+                return new long[][] { borrows.toArray(), returns.toArray() };
+            }));
+        }
+        List<long[]> borrowLatencies = new ArrayList<>();
+        List<long[]> returnLatencies = new ArrayList<>();
+        for (Future<long[][]> worker : workers) {
+            long[][] latencies = worker.get();
+            borrowLatencies.add(latencies[0]);
+            returnLatencies.add(latencies[1]);
+        }
+        return new Outcome(merge(borrowLatencies), merge(returnLatencies), conflicts.get(), failures.get());
+    }
+
+    private void report(String file, String title, Outcome outcome, long deadlocks) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("threads", THREADS);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("successfulBorrows", outcome.borrows().length);
+        report.put("rejectedBorrows", outcome.conflicts());
+        report.put("failures", outcome.failures());
+        report.put("deadlocks", deadlocks);
+        report.put("borrowsPerSecond", outcome.borrows().length / (double) DURATION.toSeconds());
+        report.put("borrowP50Ms", percentileMillis(outcome.borrows(), 50));
+        report.put("borrowP99Ms", percentileMillis(outcome.borrows(), 99));
+        report.put("returnP50Ms", percentileMillis(outcome.returns(), 50));
+        report.put("returnP99Ms", percentileMillis(outcome.returns(), 99));
+        Files.createDirectories(REPORT_DIR);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+                .writeValue(REPORT_DIR.resolve(file).toFile(), report);
+        log.info("{}: {}", title, report);
+    }
+
+    private long deadlocks() {
+        return jdbc.queryForObject("SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()",
+                Long.class);
+    }
+
+    private long create(HttpClient client, String path, String body) throws Exception {
+        HttpResponse<String> response = client.send(post(path, body), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return idOf(response.body());
+    }
+
+    private HttpRequest post(String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        if (body == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long idOf(String json) {
+        Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in " + json);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static long[] merge(List<long[]> parts) {
+        long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Outcome(long[] borrows, long[] returns, long conflicts, long failures) {
+    }
+
+    private static final class LongList {
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.assignment_backend.perf;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application's DataSource and, between {@link #start()} and {@link #stop()}, records every
+ * statement executed through it: the SQL together with its parameter bindings, which
+ * {@link CapturedStatement#bind} replays onto another statement (an EXPLAIN of the same statement).
+ * A JDBC batch is recorded once, without bindings.
+ */
+final class CapturingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate");
+
+    private final List<CapturedStatement> captured = new ArrayList<>();
+    private volatile boolean capturing;
+
+    CapturingDataSource(DataSource target) {
+        super(target);
+    }
+
+    void start() {
+        synchronized (captured) {
+            captured.clear();
+        }
+        capturing = true;
+    }
+
+    List<CapturedStatement> stop() {
+        capturing = false;
+        synchronized (captured) {
+            return List.copyOf(captured);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrap(statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return wrap(statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (EXECUTE.contains(name) && (args == null || args.length == 0)) {
+                record(new CapturedStatement(sql, List.copyOf(bindings), false));
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                record(new CapturedStatement(sql, List.of(), true));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            if (EXECUTE.contains(method.getName()) && args != null && args.length > 0
+                    && args[0] instanceof String sql) {
+                record(new CapturedStatement(sql, List.of(), false));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private void record(CapturedStatement statement) {
+        if (capturing) {
+            synchronized (captured) {
+                captured.add(statement);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.handle(method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    record CapturedStatement(String sql, List<Binding> bindings, boolean batch) {
+
+        /** Applies the recorded bindings to {@code target}, a statement with the same parameters. */
+        void bind(PreparedStatement target) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(target, binding.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Could not replay " + binding.setter().getName(), e);
+                }
+            }
+        }
+    }
+}
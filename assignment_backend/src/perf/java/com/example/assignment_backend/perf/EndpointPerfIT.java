@@ -0,0 +1,327 @@
+package com.example.assignment_backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.service.SuggestService;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * End-to-end performance suite. Boots the application on a random port against
+ * {@link PerfDatabase}, seeds it through {@link PerfDataSeeder}, then drives every endpoint of the
+ * author, book, member and borrowed-book controllers with {@link LoadDriver}, one scenario at a
+ * time. Each scenario records throughput, p50/p95/p99 latency and SQL statements per request.
+ * Results go to {@code target/perf-reports/perf-report.json}. When {@code perf.baseline} names an
+ * earlier report, the run fails if a scenario's p95 grows by more than {@code perf.tolerance}
+ * or it issues more SQL statements per request.
+ *
+ * <pre>
+ * ./mvnw -Pperf verify -Dperf.scale=0.1 -Dperf.clients=64 -Dperf.duration=20
+ * </pre>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointPerfIT {
+    private static final double SCALE = Double.parseDouble(System.getProperty("perf.scale", "1.0"));
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("perf.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.duration", 20));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    private static final Pattern SCENARIOS = Pattern.compile(System.getProperty("perf.scenarios", ".*"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.report-dir", "target/perf-reports"));
+
+    private final PerfDataSeeder.Volumes volumes = PerfDataSeeder.Volumes.scaled(SCALE);
+    private final List<Map<String, Object>> results = new ArrayList<>();
+    private final ObjectMapper json = JsonMapper.builder().build();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PerfDatabase.start();
+        registry.add("spring.datasource.url", PerfDatabase::url);
+        registry.add("spring.datasource.username", PerfDatabase::username);
+        registry.add("spring.datasource.password", PerfDatabase::password);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+        // Measures the endpoints themselves; AdmissionOverloadPerfIT covers admission control.
+        registry.add("app.admission.enabled", () -> false);
+    }
+
+    @BeforeAll
+    void seed() {
+        if (!PerfDataSeeder.isSeeded(jdbc, volumes)) {
+            long started = System.nanoTime();
+            PerfDataSeeder.seed(jdbc, volumes);
+            log.info("Seeded {} in {} s", volumes, (System.nanoTime() - started) / 1_000_000_000);
+        }
+        for (SuggestType type : SuggestType.values()) {
+            suggestService.reload(type);
+        }
+    }
+
+    @Test
+    void endpoints() throws Exception {
+        // reads
+        scenario("authors.list", get(() -> "/api/authors?size=20&page=" + random(500)));
+        scenario("authors.scroll", get(() -> "/api/authors?after=&size=20"));
+        scenario("authors.get", get(() -> "/api/authors/" + random(volumes.authors())));
+        scenario("books.list", get(() -> "/api/books?size=20&page=" + random(500)));
+        scenario("books.scroll", get(() -> "/api/books?after=&size=20"));
+        scenario("books.get", get(() -> "/api/books/" + random(volumes.books())));
+        scenario("members.list", get(() -> "/api/members?size=20&page=" + random(500)));
+        scenario("members.scroll", get(() -> "/api/members?after=&size=20"));
+        scenario("members.get", get(() -> "/api/members/" + random(volumes.members())));
+        scenario("borrowed-books.list", get(() -> "/api/borrowed-books?size=20&page=" + random(500)));
+        scenario("borrowed-books.list.fields", get(() -> "/api/borrowed-books?size=20&page=" + random(500)
+                + "&fields=id,borrowDate,returnDate,book.title,member.name"));
+        scenario("borrowed-books.list.title", get(() -> "/api/borrowed-books?size=20&title=" + word()));
+        scenario("borrowed-books.list.search", get(() -> "/api/borrowed-books?size=20&rank=true&search=" + word()));
+        scenario("borrowed-books.list.date", get(() -> "/api/borrowed-books?size=20&borrowDate=" + date()));
+        scenario("borrowed-books.list.borrowed-range", get(() -> "/api/borrowed-books?size=20&borrowedFrom=" + date()
+                + "&borrowedTo=" + date().plusDays(30)));
+        scenario("borrowed-books.list.returned-range", get(() -> "/api/borrowed-books?size=20&returnedFrom=" + date()
+                + "&returnedTo=" + date().plusDays(30)));
+        scenario("borrowed-books.list.overdue", get(() -> "/api/borrowed-books?size=20&status=overdue"));
+        scenario("borrowed-books.list.book", get(() -> "/api/borrowed-books?size=20&bookId="
+                + random(volumes.books())));
+        scenario("borrowed-books.list.member.open", get(() -> "/api/borrowed-books?size=20&status=open&memberId="
+                + random(volumes.members())));
+        scenario("borrowed-books.scroll", get(() -> "/api/borrowed-books?after=&size=20"));
+        scenario("borrowed-books.get", get(() -> "/api/borrowed-books/" + random(volumes.loans())));
+        scenario("borrowed-books.export", get(() -> "/api/borrowed-books/export?format=CSV&borrowDate=" + date()));
+        scenario("books.batch", get(() -> "/api/books?ids=" + randomIds(50, volumes.books())));
+        scenario("members.batch", get(() -> "/api/members?ids=" + randomIds(50, volumes.members())));
+        scenario("books.availability", get(() -> "/api/books/availability?ids=" + randomIds(50, volumes.books())));
+        scenario("stats.top-books", get(() -> "/api/stats/top-books?limit=20"));
+        scenario("stats.open-loans-by-category", get(() -> "/api/stats/open-loans-by-category"));
+        scenario("stats.loans-per-day", get(() -> "/api/stats/loans-per-day?from=2020-01-01&to=2020-12-31"));
+        scenario("changes.feed", get(() -> "/api/changes?since=0&limit=500"));
+
+        // writes
+        AtomicLong unique = new AtomicLong();
+        scenario("authors.create", send("POST", () -> "/api/authors", () -> "{\"name\":\"Perf Author\"}"));
+        scenario("books.create", send("POST", () -> "/api/books", () -> "{\"title\":\"Perf Book\",\"category\":"
+                + "\"Fiction\",\"publishingYear\":2020,\"authorId\":" + random(volumes.authors()) + "}"));
+        scenario("books.bulk", bulk());
+        scenario("members.create", send("POST", () -> "/api/members", () -> "{\"name\":\"Perf Member\",\"email\":"
+                + "\"perf-" + System.nanoTime() + "-" + unique.incrementAndGet() + "@example.com\"}"));
+        scenario("borrowed-books.return", returns());
+        // recorded as already returned, so random books never collide with an open loan
+        scenario("borrowed-books.create", send("POST", () -> "/api/borrowed-books", () -> "{\"bookId\":"
+                + random(volumes.books()) + ",\"memberId\":" + random(volumes.members()) + ",\"borrowDate\":\""
+                + date() + "\",\"returnDate\":\"2025-12-31\"}"));
+        scenario("authors.update", send("PUT", () -> "/api/authors/" + random(volumes.authors()),
+                () -> "{\"name\":\"Renamed Author\"}"));
+        scenario("books.update", send("PUT", () -> "/api/books/" + random(volumes.books()),
+                () -> "{\"title\":\"Renamed Book\",\"category\":\"History\",\"publishingYear\":1999,"
+                        + "\"authorId\":" + random(volumes.authors()) + "}"));
+        scenario("members.update", send("PUT", () -> "/api/members/" + random(volumes.members()),
+                () -> "{\"name\":\"Renamed Member\",\"phone\":\"+1-555-0000\"}"));
+        scenario("borrowed-books.update", send("PUT", () -> "/api/borrowed-books/" + random(volumes.loans()),
+                () -> "{\"bookId\":" + random(volumes.books()) + ",\"memberId\":" + random(volumes.members())
+                        + ",\"borrowDate\":\"" + date() + "\",\"returnDate\":\"2026-01-01\"}"));
+
+        // deletes work through the rows created above, which nothing references
+        scenario("borrowed-books.delete", delete("borrowed_books", "/api/borrowed-books/", volumes.loans()));
+        scenario("books.delete", delete("books", "/api/books/", volumes.books()));
+        scenario("members.delete", delete("members", "/api/members/", volumes.members()));
+        scenario("authors.delete", delete("authors", "/api/authors/", volumes.authors()));
+
+        List<String> regressions = compareWithBaseline();
+        assertTrue(regressions.isEmpty(), () -> "Performance regressions:\n" + String.join("\n", regressions));
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("scale", SCALE);
+        report.put("volumes", volumes);
+        report.put("clients", CLIENTS);
+        report.put("warmupSeconds", WARMUP.toSeconds());
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("scenarios", results);
+        Files.createDirectories(REPORT_DIR);
+        json.writerWithDefaultPrettyPrinter().writeValue(REPORT_DIR.resolve("perf-report.json").toFile(), report);
+    }
+
+    private void scenario(String name, Supplier<HttpRequest> requests) throws InterruptedException {
+        if (!SCENARIOS.matcher(name).matches()) {
+            return;
+        }
+        AtomicLong issued = new AtomicLong();
+        Supplier<HttpRequest> counted = () -> {
+            HttpRequest request = requests.get();
+            if (request != null) {
+                issued.incrementAndGet();
+            }
+            return request;
+        };
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        LoadDriver.Result result = LoadDriver.run(counted, CLIENTS, WARMUP, DURATION);
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", name);
+        row.put("requests", result.sortedNanos().length);
+        row.put("errors", result.errors());
+        row.put("throughput", round(result.throughput()));
+        row.put("p50Ms", result.percentileMicros(50) / 1000.0);
+        row.put("p95Ms", result.percentileMicros(95) / 1000.0);
+        row.put("p99Ms", result.percentileMicros(99) / 1000.0);
+        row.put("maxMs", result.percentileMicros(100) / 1000.0);
+        row.put("sqlStatementsPerRequest", issued.get() == 0 ? 0.0 : round((double) statements / issued.get()));
+        results.add(row);
+        log.info("{} {} sql/request={}", name, result.format(CLIENTS), row.get("sqlStatementsPerRequest"));
+    }
+
+    private List<String> compareWithBaseline() throws IOException {
+        String baseline = System.getProperty("perf.baseline");
+        List<String> regressions = new ArrayList<>();
+        if (baseline == null || baseline.isBlank()) {
+            return regressions;
+        }
+        Map<String, JsonNode> previous = new LinkedHashMap<>();
+        for (JsonNode scenario : json.readTree(Path.of(baseline).toFile()).get("scenarios")) {
+            previous.put(scenario.get("name").asString(), scenario);
+        }
+        for (Map<String, Object> current : results) {
+            JsonNode before = previous.get((String) current.get("name"));
+            if (before == null) {
+                continue;
+            }
+            double p95 = (double) current.get("p95Ms");
+            double allowed = before.get("p95Ms").asDouble() * (1 + TOLERANCE);
+            if (p95 > allowed) {
+                regressions.add(String.format("%s: p95 %.2f ms exceeds baseline %.2f ms (+%.0f%%)", current.get("name"),
+                        p95, before.get("p95Ms").asDouble(), TOLERANCE * 100));
+            }
+            double sql = (double) current.get("sqlStatementsPerRequest");
+            if (sql > before.get("sqlStatementsPerRequest").asDouble() + 0.01) {
+                regressions.add(String.format("%s: %.2f SQL statements per request, baseline %.2f", current.get("name"),
+                        sql, before.get("sqlStatementsPerRequest").asDouble()));
+            }
+        }
+        return regressions;
+    }
+
+    private Supplier<HttpRequest> get(Supplier<String> path) {
+        return () -> request(path.get()).GET().build();
+    }
+
+    private Supplier<HttpRequest> send(String method, Supplier<String> path, Supplier<String> body) {
+        return () -> request(path.get())
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.get()))
+                .build();
+    }
+
+    private Supplier<HttpRequest> bulk() {
+        return () -> {
+            StringBuilder csv = new StringBuilder("title,category,publishingYear,authorId\n");
+            for (int i = 0; i < 100; i++) {
+                csv.append("Bulk Book ").append(i).append(",Fiction,2021,").append(random(volumes.authors())).append('\n');
+            }
+            return request("/api/books/bulk")
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                    .build();
+        };
+    }
+
+    private Supplier<HttpRequest> delete(String table, String path, long seeded) {
+        Queue<Long> ids = new ConcurrentLinkedQueue<>(
+                jdbc.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class, seeded));
+        return () -> {
+            Long id = ids.poll();
+            return id == null ? null : request(path + id).DELETE().build();
+        };
+    }
+
+    private Supplier<HttpRequest> returns() {
+        Queue<Long> open = new ConcurrentLinkedQueue<>(jdbc.queryForList(
+                "SELECT id FROM borrowed_books WHERE return_date IS NULL ORDER BY id", Long.class));
+        return () -> {
+            Long id = open.poll();
+            return id == null ? null
+                    : request("/api/borrowed-books/" + id + "/return")
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build();
+        };
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(60));
+    }
+
+    private static long random(long upperInclusive) {
+        return 1 + ThreadLocalRandom.current().nextLong(upperInclusive);
+    }
+
+    private static String randomIds(int count, long upperInclusive) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ids.append(i == 0 ? "" : ",").append(random(upperInclusive));
+        }
+        return ids.toString();
+    }
+
+    private static String word() {
+        String[] words = { "river", "shadow", "garden", "winter", "harbor", "falcon", "smith", "olivia" };
+        return words[ThreadLocalRandom.current().nextInt(words.length)];
+    }
+
+    private static LocalDate date() {
+        return LocalDate.of(2015, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3650));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
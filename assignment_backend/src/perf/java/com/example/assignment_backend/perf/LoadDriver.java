@@ -0,0 +1,208 @@
+package com.example.assignment_backend.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Closed-loop HTTP load driver for comparing the platform-thread and virtual-thread execution
+ * modes. Start the application once per mode and point the driver at it:
+ *
+ * <pre>
+ * APP_VIRTUAL_THREADS=false ./mvnw spring-boot:run
+ * ./mvnw -Pperf test-compile dependency:build-classpath -Dmdep.outputFile=target/perf.classpath
+ * java -cp target/test-classes:$(cat target/perf.classpath) com.example.assignment_backend.perf.LoadDriver \
+ *     --clients=1000 --duration=60 --warmup=15 /api/borrowed-books?size=20 /api/books/1
+ *
+ * APP_VIRTUAL_THREADS=true ./mvnw spring-boot:run
+ * (same driver command)
+ * </pre>
+ *
+ * Each client runs on its own virtual thread and issues the given paths round-robin, back to back.
+ * Latencies recorded after the warm-up are reported as p50/p90/p99/max together with throughput and
+ * the number of failed (non-2xx or I/O error) requests, logged and written to
+ * {@code target/perf-reports/load-driver-report.json}.
+ */
+@Slf4j
+public final class LoadDriver {
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.report-dir", "target/perf-reports"));
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = "http://localhost:8080";
+        int clients = 1000;
+        int durationSeconds = 60;
+        int warmupSeconds = 15;
+        List<String> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--url=")) {
+                baseUrl = arg.substring("--url=".length());
+            } else if (arg.startsWith("--clients=")) {
+                clients = Integer.parseInt(arg.substring("--clients=".length()));
+            } else if (arg.startsWith("--duration=")) {
+                durationSeconds = Integer.parseInt(arg.substring("--duration=".length()));
+            } else if (arg.startsWith("--warmup=")) {
+                warmupSeconds = Integer.parseInt(arg.substring("--warmup=".length()));
+            } else {
+                paths.add(arg);
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.add("/api/borrowed-books?size=20");
+        }
+
+        List<URI> targets = new ArrayList<>();
+        for (String path : paths) {
+            targets.add(URI.create(baseUrl + path));
+        }
+        AtomicLong next = new AtomicLong();
+        Supplier<HttpRequest> requests = () -> HttpRequest
+                .newBuilder(targets.get((int) (next.getAndIncrement() % targets.size())))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        Result result = run(requests, clients, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("url", baseUrl);
+        report.put("paths", paths);
+        report.put("clients", clients);
+        report.put("requests", result.sortedNanos().length);
+        report.put("errors", result.errors());
+        report.put("throughput", result.throughput());
+        report.put("p50Ms", result.percentileMicros(50) / 1000.0);
+        report.put("p90Ms", result.percentileMicros(90) / 1000.0);
+        report.put("p99Ms", result.percentileMicros(99) / 1000.0);
+        report.put("maxMs", result.percentileMicros(100) / 1000.0);
+        Files.createDirectories(REPORT_DIR);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+                .writeValue(REPORT_DIR.resolve("load-driver-report.json").toFile(), report);
+        log.info("Load driver: {}", result.format(clients));
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients against the requests handed out by {@code requests}
+     * until the duration elapses, or until the supplier returns {@code null} (for scenarios that
+     * work through a finite set of ids).
+     */
+    static Result run(Supplier<HttpRequest> requests, int clients, Duration warmup, Duration duration)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong(measureFrom);
+        LatencyLog[] logs = new LatencyLog[clients];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(executor)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build()) {
+            for (int c = 0; c < clients; c++) {
+                LatencyLog latencies = new LatencyLog();
+                logs[c] = latencies;
+                executor.submit(() -> {
+                    while (true) {
+                        HttpRequest request = requests.get();
+                        long start = System.nanoTime();
+                        if (request == null || start >= stopAt) {
+                            return;
+                        }
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() / 100 == 2;
+                        } catch (IOException e) {
+                            ok = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= stopAt) {
+                            lastCompletion.accumulateAndGet(end, Math::max);
+                            if (ok) {
+                                latencies.add(end - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(warmup.plus(duration).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        int total = 0;
+        for (LatencyLog latencies : logs) {
+            total += latencies.size;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (LatencyLog latencies : logs) {
+            System.arraycopy(latencies.values, 0, all, pos, latencies.size);
+            pos += latencies.size;
+        }
+        Arrays.sort(all);
+        Duration measured = Duration.ofNanos(Math.max(1, Math.min(stopAt, lastCompletion.get()) - measureFrom));
+        return new Result(all, errors.get(), measured);
+    }
+
+    record Result(long[] sortedNanos, long errors, Duration duration) {
+
+        long percentileMicros(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000;
+        }
+
+        double throughput() {
+            return sortedNanos.length / (duration.toNanos() / 1e9);
+        }
+
+        String format(int clients) {
+            return String.format("clients=%d requests=%d errors=%d throughput=%.1f req/s "
+                    + "p50=%.2f ms p90=%.2f ms p99=%.2f ms max=%.2f ms",
+                    clients, sortedNanos.length, errors, throughput(),
+                    percentileMicros(50) / 1000.0, percentileMicros(90) / 1000.0,
+                    percentileMicros(99) / 1000.0, percentileMicros(100) / 1000.0);
+        }
+    }
+
+    /** Append-only latency buffer owned by a single client thread. */
+    static final class LatencyLog {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+}
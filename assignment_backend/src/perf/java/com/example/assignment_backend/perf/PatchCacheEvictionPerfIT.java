@@ -0,0 +1,82 @@
+package com.example.assignment_backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.assignment_backend.dto.AuthorCreateDto;
+import com.example.assignment_backend.dto.BookCreateDto;
+import com.example.assignment_backend.dto.BookPatchDto;
+import com.example.assignment_backend.dto.BookResponseDto;
+import com.example.assignment_backend.entity.Author;
+import com.example.assignment_backend.entity.Book;
+import com.example.assignment_backend.service.AuthorService;
+import com.example.assignment_backend.service.BookService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that a PATCH evicts only the row it updated from the second-level cache: books and authors
+ * cached before the PATCH of one book are still cached after it, and the patched book is read back
+ * with its new values.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PatchCacheEvictionPerfIT {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PerfDatabase.start();
+        registry.add("spring.datasource.url", PerfDatabase::url);
+        registry.add("spring.datasource.username", PerfDatabase::username);
+        registry.add("spring.datasource.password", PerfDatabase::password);
+        registry.add("app.scheduling.enabled", () -> false);
+    }
+
+    @Test
+    void patchEvictsOnlyThePatchedRow() {
+        long authorId = authorService.create(new AuthorCreateDto("Cache Author")).getId();
+        long patchedId = bookService.create(new BookCreateDto("Cached Copy", "Fiction", 2020, authorId)).getId();
+        long otherId = bookService.create(new BookCreateDto("Bystander Copy", "Fiction", 2021, authorId)).getId();
+
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        BookResponseDto patched = read(patchedId);
+        read(otherId);
+        assertTrue(cache.contains(Book.class, patchedId), "book was not cached by the read");
+        assertTrue(cache.contains(Book.class, otherId), "book was not cached by the read");
+        assertTrue(cache.contains(Author.class, authorId), "author was not cached by the read");
+
+        BookPatchDto patch = new BookPatchDto("Patched Copy", null, null, null);
+        bookService.patch(patchedId, patched.getVersion(), patch);
+
+        assertTrue(cache.contains(Book.class, otherId), "PATCH evicted another book");
+        assertTrue(cache.contains(Author.class, authorId), "PATCH evicted the author");
+        assertFalse(cache.contains(Book.class, patchedId), "patched book is still cached");
+        BookResponseDto reread = read(patchedId);
+        assertEquals("Patched Copy", reread.getTitle());
+        assertEquals(patched.getVersion() + 1, reread.getVersion());
+    }
+
+    // The mapper follows the lazy author, so the read needs a session for its whole length.
+    private BookResponseDto read(long id) {
+        return transactionTemplate.execute(status -> bookService.getById(id).orElseThrow());
+    }
+}
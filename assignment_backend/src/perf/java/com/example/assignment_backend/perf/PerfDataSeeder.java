@@ -0,0 +1,81 @@
+package com.example.assignment_backend.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds the schema created by the Flyway migrations with generated data. The base volumes (100k
+ * authors, 1M books, 500k members, 10M loans) are multiplied by {@code perf.scale}. Ids are
+ * contiguous from 1, sequences are moved past the seeded ranges, the circulation rollups are
+ * rebuilt and the tables are analyzed so plans and row estimates match a production-sized database.
+ */
+final class PerfDataSeeder {
+    static final long BASE_AUTHORS = 100_000;
+    static final long BASE_BOOKS = 1_000_000;
+    static final long BASE_MEMBERS = 500_000;
+    static final long BASE_LOANS = 10_000_000;
+
+    private static final String WORDS = "ARRAY['Silent','River','Shadow','Garden','Winter','Harbor','Crimson','Empire',"
+            + "'Glass','Wolf','Summer','Orchard','Iron','Letters','Midnight','Falcon','Hidden','Valley','Storm','Tide']";
+    private static final String CATEGORIES = "ARRAY['Fiction','History','Science','Poetry','Children','Biography',"
+            + "'Travel','Mystery']";
+    private static final String FIRST_NAMES = "ARRAY['Anna','Ben','Chloe','David','Emma','Felix','Grace','Henry',"
+            + "'Isla','Jack','Kate','Liam','Mia','Noah','Olivia','Peter']";
+    private static final String LAST_NAMES = "ARRAY['Smith','Nguyen','Garcia','Brown','Tran','Miller','Wilson',"
+            + "'Lee','Taylor','Martin','Clark','Walker']";
+
+    private PerfDataSeeder() {
+    }
+
+    record Volumes(long authors, long books, long members, long loans) {
+
+        long openLoans() {
+            return Math.min(books, loans) / 5;
+        }
+
+        static Volumes scaled(double scale) {
+            return new Volumes(Math.max(10, Math.round(BASE_AUTHORS * scale)),
+                    Math.max(10, Math.round(BASE_BOOKS * scale)),
+                    Math.max(10, Math.round(BASE_MEMBERS * scale)),
+                    Math.max(10, Math.round(BASE_LOANS * scale)));
+        }
+    }
+
+    static boolean isSeeded(JdbcTemplate jdbc, Volumes volumes) {
+        Long loans = jdbc.queryForObject("SELECT count(*) FROM borrowed_books", Long.class);
+        return loans != null && loans >= volumes.loans();
+    }
+
+    static void seed(JdbcTemplate jdbc, Volumes volumes) {
+        jdbc.execute("TRUNCATE borrowed_books, books, members, authors");
+        jdbc.execute("INSERT INTO authors (id, name) "
+                + "SELECT g, (" + FIRST_NAMES + ")[1 + g % 16] || ' ' || (" + LAST_NAMES + ")[1 + (g / 16) % 12] "
+                + "|| ' ' || g FROM generate_series(1, " + volumes.authors() + ") g");
+        jdbc.execute("INSERT INTO books (id, title, category, publishing_year, author_id) "
+                + "SELECT g, (" + WORDS + ")[1 + g % 20] || ' ' || (" + WORDS + ")[1 + (g / 20) % 20] "
+                + "|| ' ' || (" + WORDS + ")[1 + (g / 400) % 20] || ' ' || g, "
+                + "(" + CATEGORIES + ")[1 + g % 8], 1900 + g % 125, 1 + (g * 7919) % " + volumes.authors() + " "
+                + "FROM generate_series(1, " + volumes.books() + ") g");
+        jdbc.execute("INSERT INTO members (id, name, email, phone) "
+                + "SELECT g, (" + FIRST_NAMES + ")[1 + (g / 7) % 16] || ' ' || (" + LAST_NAMES + ")[1 + g % 12] "
+                + "|| ' ' || g, 'member' || g || '@example.com', '+1-555-' || lpad((g % 10000)::text, 4, '0') "
+                + "FROM generate_series(1, " + volumes.members() + ") g");
+        // Loans map to books through a multiplicative hash; the newest openLoans() of them stay open.
+        // Those are consecutive, and 104729 is prime, so they hit distinct books as the open-loan
+        // unique index requires.
+        // The circulation rollups are rebuilt once below rather than maintained row by row.
+        jdbc.execute("ALTER TABLE borrowed_books DISABLE TRIGGER borrowed_books_stats");
+        jdbc.execute("INSERT INTO borrowed_books (id, book_id, member_id, borrow_date, return_date) "
+                + "SELECT g, 1 + (g * 104729) % " + volumes.books() + ", 1 + (g * 7727) % " + volumes.members()
+                + ", DATE '2015-01-01' + (g % 3650)::int, "
+                + "CASE WHEN g > " + (volumes.loans() - volumes.openLoans()) + " THEN NULL "
+                + "ELSE DATE '2015-01-01' + (g % 3650)::int + 1 + (g % 30)::int END "
+                + "FROM generate_series(1, " + volumes.loans() + ") g");
+        jdbc.execute("ALTER TABLE borrowed_books ENABLE TRIGGER borrowed_books_stats");
+        jdbc.queryForObject("SELECT rebuild_circulation_stats()", Object.class);
+        jdbc.queryForObject("SELECT setval('authors_id_seq', " + volumes.authors() + ")", Long.class);
+        jdbc.queryForObject("SELECT setval('books_id_seq', " + volumes.books() + ")", Long.class);
+        jdbc.queryForObject("SELECT setval('members_id_seq', " + volumes.members() + ")", Long.class);
+        jdbc.queryForObject("SELECT setval('borrowed_books_id_seq', " + volumes.loans() + ")", Long.class);
+        jdbc.execute("ANALYZE authors, books, members, borrowed_books");
+    }
+}
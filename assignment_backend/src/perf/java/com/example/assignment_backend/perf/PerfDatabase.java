@@ -0,0 +1,64 @@
+package com.example.assignment_backend.perf;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The PostgreSQL instance the suite runs against: an external database when {@code perf.jdbc-url}
+ * is set (useful to keep a seeded dataset between runs), otherwise an embedded server started once
+ * per JVM and stopped on shutdown.
+ */
+final class PerfDatabase {
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private PerfDatabase() {
+    }
+
+    static synchronized void start() {
+        if (url != null) {
+            return;
+        }
+        String external = System.getProperty("perf.jdbc-url");
+        if (external != null && !external.isBlank()) {
+            url = external;
+            username = System.getProperty("perf.jdbc-username", "postgres");
+            password = System.getProperty("perf.jdbc-password", "postgres");
+            return;
+        }
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("shared_buffers", "512MB")
+                    .setServerConfig("max_connections", "200")
+                    .setServerConfig("fsync", "off")
+                    .setServerConfig("synchronous_commit", "off")
+                    .start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // the JVM is exiting anyway
+                }
+            }));
+            url = postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+            username = "postgres";
+            password = "postgres";
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    static String url() {
+        return url;
+    }
+
+    static String username() {
+        return username;
+    }
+
+    static String password() {
+        return password;
+    }
+}
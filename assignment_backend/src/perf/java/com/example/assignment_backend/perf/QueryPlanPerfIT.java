@@ -0,0 +1,491 @@
+package com.example.assignment_backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Query-plan and statement-budget regression suite. Boots the application against the seeded
+ * {@link PerfDatabase} and calls each endpoint of the author, book, member and borrowed-book
+ * controllers, the circulation statistics and the change feed once to warm up and once under
+ * {@link CapturingDataSource}, then:
+ * <ul>
+ * <li>fails if the endpoint issued a different number of SQL statements than its budget;</li>
+ * <li>replays every captured statement with its bindings under {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}
+ * in a transaction that is rolled back, and fails on a sequential scan of a table with more than
+ * {@code perf.plan.seq-scan-rows} rows (default 10000), unless the scenario is an unfiltered page whose
+ * count has to read the table;</li>
+ * <li>when {@code perf.plan-baseline} names an earlier report, fails if a query's estimated total
+ * cost grows by more than {@code perf.tolerance}.</li>
+ * </ul>
+ * Writes work on throwaway rows created through the API before the capture starts. Their budgets
+ * include the change-log append every write transaction ends with; the time spent in the row and
+ * table-version and circulation-statistics triggers is reported per statement. JDBC batches are
+ * counted but not replayed. The second-level cache is off so budgets are those of a cold cache.
+ * Plans, costs, buffer counts and trigger times go to {@code target/perf-reports/query-plans.json}.
+ *
+ * <pre>
+ * ./mvnw -Pperf verify -Dit.test=QueryPlanPerfIT -Dperf.scale=0.1 [-Dperf.plan-baseline=path/to/query-plans.json]
+ * </pre>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanPerfIT {
+    private static final double SCALE = Double.parseDouble(System.getProperty("perf.scale", "1.0"));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    private static final long SEQ_SCAN_ROWS = Long.getLong("perf.plan.seq-scan-rows", 10_000);
+    private static final Pattern SCENARIOS = Pattern.compile(System.getProperty("perf.scenarios", ".*"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.report-dir", "target/perf-reports"));
+    private static final List<String> TABLES = List.of("authors", "books", "members", "borrowed_books",
+            "book_loan_stats", "member_loan_stats", "change_log");
+
+    private final PerfDataSeeder.Volumes volumes = PerfDataSeeder.Volumes.scaled(SCALE);
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Map<String, Object>> results = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+    private final Map<String, Long> tableRows = new LinkedHashMap<>();
+    private final AtomicInteger unique = new AtomicInteger();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CapturingDataSource capture;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PerfDatabase.start();
+        registry.add("spring.datasource.url", PerfDatabase::url);
+        registry.add("spring.datasource.username", PerfDatabase::username);
+        registry.add("spring.datasource.password", PerfDatabase::password);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+        registry.add("app.admission.enabled", () -> false);
+        // No scheduled job may issue statements while an endpoint is being captured.
+        registry.add("app.scheduling.enabled", () -> false);
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> false);
+    }
+
+    @TestConfiguration
+    static class Capture {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        if (!PerfDataSeeder.isSeeded(jdbc, volumes)) {
+            PerfDataSeeder.seed(jdbc, volumes);
+        }
+        for (String table : TABLES) {
+            jdbc.execute("VACUUM (ANALYZE) " + table);
+            tableRows.put(table, jdbc.queryForObject(
+                    "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = CAST(? AS regclass)",
+                    Long.class, table));
+        }
+    }
+
+    @Test
+    void queryPlansAndStatementBudgets() throws Exception {
+        long bookId = volumes.books() / 2;
+        long memberId = volumes.members() / 2;
+        String title = jdbc.queryForObject("SELECT title FROM books WHERE id = ?", String.class, bookId);
+        String memberName = jdbc.queryForObject("SELECT name FROM members WHERE id = ?", String.class, memberId);
+        String authorIds = ids(volumes.authors());
+        String bookIds = ids(volumes.books());
+        String memberIds = ids(volumes.members());
+
+        // Unfiltered pages are ETag, page and count; the count may read the whole table.
+        scenario("authors.list", "/api/authors?size=20", 3, "authors");
+        scenario("authors.list.fields", "/api/authors?size=20&fields=id,name", 3, "authors");
+        scenario("authors.scroll", "/api/authors?after=&size=20", 1);
+        scenario("authors.batch", "/api/authors?ids=" + authorIds, 1);
+        scenario("authors.get", "/api/authors/" + volumes.authors() / 2, 2);
+        scenario("books.list", "/api/books?size=20", 3, "books");
+        scenario("books.list.fields", "/api/books?size=20&fields=id,title,author.name", 3, "books");
+        scenario("books.scroll", "/api/books?after=&size=20", 1);
+        scenario("books.batch", "/api/books?ids=" + bookIds, 1);
+        scenario("books.availability", "/api/books/availability?ids=" + bookIds, 1);
+        // ETag, book, lazy author
+        scenario("books.get", "/api/books/" + bookId, 3);
+        scenario("members.list", "/api/members?size=20", 3, "members");
+        scenario("members.list.fields", "/api/members?size=20&fields=id,name", 3, "members");
+        scenario("members.scroll", "/api/members?after=&size=20", 1);
+        scenario("members.batch", "/api/members?ids=" + memberIds, 1);
+        scenario("members.get", "/api/members/" + memberId, 2);
+        scenario("borrowed-books.list", "/api/borrowed-books?size=20", 3, "borrowed_books");
+        scenario("borrowed-books.list.fields",
+                "/api/borrowed-books?size=20&fields=id,borrowDate,book.title,member.name", 3, "borrowed_books");
+        scenario("borrowed-books.list.title", "/api/borrowed-books?size=20&title=" + encode(title), 3);
+        scenario("borrowed-books.list.member-name", "/api/borrowed-books?size=20&memberName=" + encode(memberName), 3);
+        scenario("borrowed-books.list.date", "/api/borrowed-books?size=20&borrowDate=2020-06-01", 3);
+        scenario("borrowed-books.list.borrowed-range",
+                "/api/borrowed-books?size=20&borrowedFrom=2020-06-01&borrowedTo=2020-06-07", 3);
+        scenario("borrowed-books.list.returned-range",
+                "/api/borrowed-books?size=20&returnedFrom=2020-06-01&returnedTo=2020-06-07", 3);
+        scenario("borrowed-books.list.overdue", "/api/borrowed-books?size=20&status=overdue", 3);
+        scenario("borrowed-books.list.book", "/api/borrowed-books?size=20&bookId=" + bookId, 3);
+        scenario("borrowed-books.list.member.open",
+                "/api/borrowed-books?size=20&status=open&memberId=" + memberId, 3);
+        scenario("borrowed-books.scroll", "/api/borrowed-books?after=&size=20", 1);
+        // ETag, loan, book, its author, member
+        scenario("borrowed-books.get", "/api/borrowed-books/" + volumes.loans() / 2, 5);
+        scenario("borrowed-books.export", "/api/borrowed-books/export?format=CSV&borrowDate=2020-06-01", 1);
+        scenario("stats.top-books", "/api/stats/top-books?limit=20", 1);
+        scenario("stats.top-members", "/api/stats/top-members?limit=20", 1);
+        scenario("stats.open-loans-by-category", "/api/stats/open-loans-by-category", 1);
+        scenario("stats.loans-per-day", "/api/stats/loans-per-day?from=2020-06-01&to=2020-06-30", 1);
+        // sequencing of committed entries, then the head
+        scenario("changes.head", "/api/changes", 2);
+        // sequencing, horizon, then the entries after it
+        long horizon = jdbc.queryForObject("SELECT horizon FROM change_log_head WHERE id = 1", Long.class);
+        scenario("changes.since", "/api/changes?since=" + horizon + "&limit=500", 3);
+
+        // Every write transaction ends with one change-log append. New authors, books and members take
+        // their ids from the block of the pooled sequence that the warm-up call fetched.
+        long authorId = volumes.authors() / 2;
+        scenario("authors.create", () -> send("POST", "/api/authors", author()).build(), 2);
+        long author = create("/api/authors", author());
+        // author, update, change log
+        scenario("authors.update", () -> send("PUT", "/api/authors/" + author, author()).build(), 3);
+        // update, author, change log
+        scenario("authors.patch", () -> patch("/api/authors/" + author, author()), 3);
+        // author, delete, change log
+        scenario("authors.delete", () -> request("/api/authors/" + create("/api/authors", author())).DELETE().build(),
+                3);
+
+        // author, insert, change log
+        scenario("books.create", () -> send("POST", "/api/books", book(authorId)).build(), 3);
+        long book = create("/api/books", book(authorId));
+        // book, its author, update, change log
+        scenario("books.update", () -> send("PUT", "/api/books/" + book, book(authorId)).build(), 4);
+        // update, book, lazy author, change log
+        scenario("books.patch", () -> patch("/api/books/" + book, "{\"title\":\"" + name("Patched Book") + "\"}"), 4);
+        // book, delete, change log
+        scenario("books.delete", () -> request("/api/books/" + create("/api/books", book(authorId))).DELETE().build(),
+                3);
+        // authors of the chunk, book insert batch, change log, then the reload of the title index reads the table
+        scenario("books.bulk", () -> request("/api/books/bulk")
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString("title,category,publishingYear,authorId\n"
+                        + name("Bulk Book") + ",Fiction,2021," + authorId + "\n"
+                        + name("Bulk Book") + ",History,2022," + authorId + "\n"))
+                .build(), 4, "books");
+
+        scenario("members.create", () -> send("POST", "/api/members", member()).build(), 2);
+        long member = create("/api/members", member());
+        // member, update, change log
+        scenario("members.update", () -> send("PUT", "/api/members/" + member, member()).build(), 3);
+        // update, member, change log
+        scenario("members.patch", () -> patch("/api/members/" + member, member()), 3);
+        // member, delete, change log
+        scenario("members.delete", () -> request("/api/members/" + create("/api/members", member())).DELETE().build(),
+                3);
+
+        // Each loan is on a throwaway book, so no two of them compete for one book's open loan.
+        // book, member, insert, lazy author, change log; recorded as returned, so replaying the insert
+        // does not collide with an open loan on the same book
+        scenario("borrowed-books.create", () -> send("POST", "/api/borrowed-books",
+                loan(create("/api/books", book(authorId)), memberId, "2021-12-31")).build(), 5);
+        long loanBook = create("/api/books", book(authorId));
+        long loan = create("/api/borrowed-books", loan(loanBook, memberId, null));
+        // loan, book, member, update, lazy author, change log
+        scenario("borrowed-books.update", () -> send("PUT", "/api/borrowed-books/" + loan,
+                loan(loanBook, memberId, null)).build(), 6);
+        // update, loan, book, its author, member, change log
+        scenario("borrowed-books.patch", () -> patch("/api/borrowed-books/" + loan,
+                "{\"borrowDate\":\"" + borrowDate() + "\"}"), 6);
+        // update, loan, book, its author, member, change log
+        scenario("borrowed-books.return", () -> request("/api/borrowed-books/" + openLoan(authorId, memberId)
+                + "/return").POST(HttpRequest.BodyPublishers.noBody()).build(), 6);
+        // loan, delete, change log
+        scenario("borrowed-books.delete", () -> request("/api/borrowed-books/" + openLoan(authorId, memberId))
+                .DELETE().build(), 3);
+
+        failures.addAll(compareWithBaseline());
+        assertTrue(failures.isEmpty(), () -> "Query plan regressions:\n" + String.join("\n", failures));
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("scale", SCALE);
+        report.put("volumes", volumes);
+        report.put("tableRows", tableRows);
+        report.put("scenarios", results);
+        Files.createDirectories(REPORT_DIR);
+        json.writerWithDefaultPrettyPrinter().writeValue(REPORT_DIR.resolve("query-plans.json").toFile(), report);
+    }
+
+    private void scenario(String name, String path, int statements, String... seqScanAllowed) throws Exception {
+        scenario(name, () -> request(path).GET().build(), statements, seqScanAllowed);
+    }
+
+    private void scenario(String name, RequestFactory requests, int statements, String... seqScanAllowed)
+            throws Exception {
+        if (!SCENARIOS.matcher(name).matches()) {
+            return;
+        }
+        call(requests.create());
+        // Built before the capture starts: a factory may create the rows the request works on.
+        HttpRequest request = requests.create();
+        capture.start();
+        int status;
+        List<CapturingDataSource.CapturedStatement> captured;
+        try {
+            status = call(request);
+        } finally {
+            captured = capture.stop();
+        }
+        if (status / 100 != 2) {
+            failures.add(name + ": HTTP " + status);
+        }
+        if (captured.size() != statements) {
+            failures.add(String.format("%s: %d SQL statements, budget %d:%n  %s", name, captured.size(), statements,
+                    captured.stream().map(CapturingDataSource.CapturedStatement::sql)
+                            .collect(Collectors.joining("\n  "))));
+        }
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (CapturingDataSource.CapturedStatement statement : captured) {
+            Map<String, Object> query = new LinkedHashMap<>();
+            query.put("sql", statement.sql());
+            if (!statement.batch()) {
+                JsonNode explained = explain(statement);
+                JsonNode plan = explained.get("Plan");
+                query.put("totalCost", plan.get("Total Cost").asDouble());
+                query.put("actualTotalTimeMs", plan.get("Actual Total Time").asDouble());
+                query.put("sharedHitBlocks", plan.get("Shared Hit Blocks").asLong());
+                query.put("sharedReadBlocks", plan.get("Shared Read Blocks").asLong());
+                List<String> seqScans = new ArrayList<>();
+                collectSeqScans(plan, seqScans);
+                query.put("seqScans", seqScans);
+                for (String table : seqScans) {
+                    long rows = tableRows.getOrDefault(table, 0L);
+                    if (rows > SEQ_SCAN_ROWS && !List.of(seqScanAllowed).contains(table)) {
+                        failures.add(String.format("%s: sequential scan of %s (%d rows) in%n  %s", name, table, rows,
+                                statement.sql()));
+                    }
+                }
+                if (explained.has("Triggers")) {
+                    query.put("triggers", explained.get("Triggers"));
+                }
+                query.put("plan", plan);
+            }
+            queries.add(query);
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", name);
+        row.put("method", request.method());
+        row.put("path", request.uri().getRawPath()
+                + (request.uri().getRawQuery() != null ? "?" + request.uri().getRawQuery() : ""));
+        row.put("statements", captured.size());
+        row.put("budget", statements);
+        row.put("queries", queries);
+        results.add(row);
+        log.info("{} {}/{} statements", name, captured.size(), statements);
+    }
+
+    /*
+     * Runs the captured statement again, with the same bindings, under EXPLAIN ANALYZE and returns the
+     * explained statement: its plan and, for writes, the triggers it fired. EXPLAIN ANALYZE executes the
+     * statement, so the replay is always rolled back.
+     */
+    private JsonNode explain(CapturingDataSource.CapturedStatement statement) {
+        String plan = jdbc.execute((Connection connection) -> {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+                statement.bind(explain);
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        });
+        return json.readTree(plan).get(0);
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asString(""))) {
+            tables.add(node.path("Relation Name").asString(""));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+    }
+
+    private List<String> compareWithBaseline() throws IOException {
+        String baseline = System.getProperty("perf.plan-baseline");
+        List<String> regressions = new ArrayList<>();
+        if (baseline == null || baseline.isBlank()) {
+            return regressions;
+        }
+        Map<String, JsonNode> previous = new LinkedHashMap<>();
+        for (JsonNode scenario : json.readTree(Path.of(baseline).toFile()).get("scenarios")) {
+            for (JsonNode query : scenario.get("queries")) {
+                if (query.has("totalCost")) {
+                    previous.put(scenario.get("name").asString() + " " + query.get("sql").asString(), query);
+                }
+            }
+        }
+        for (Map<String, Object> scenario : results) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> queries = (List<Map<String, Object>>) scenario.get("queries");
+            for (Map<String, Object> query : queries) {
+                JsonNode before = previous.get(scenario.get("name") + " " + query.get("sql"));
+                if (before == null || !query.containsKey("totalCost")) {
+                    continue;
+                }
+                double cost = (double) query.get("totalCost");
+                double allowed = before.get("totalCost").asDouble() * (1 + TOLERANCE);
+                if (cost > allowed) {
+                    regressions.add(String.format("%s: estimated cost %.2f exceeds baseline %.2f (+%.0f%%) for%n  %s",
+                            scenario.get("name"), cost, before.get("totalCost").asDouble(), TOLERANCE * 100,
+                            query.get("sql")));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    private int call(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(60));
+    }
+
+    private HttpRequest.Builder send(String method, String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    // PATCH is conditional; the If-Match comes from a GET of the row as it is now.
+    private HttpRequest patch(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<Void> current = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return send("PATCH", path, body)
+                .header("If-Match", current.headers().firstValue("ETag").orElseThrow())
+                .build();
+    }
+
+    // Creates a throwaway row and returns its id.
+    private long create(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(send("POST", path, body).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+        return json.readTree(response.body()).get("id").asLong();
+    }
+
+    private long openLoan(long authorId, long memberId) throws IOException, InterruptedException {
+        return create("/api/borrowed-books", loan(create("/api/books", book(authorId)), memberId, null));
+    }
+
+    private String author() {
+        return "{\"name\":\"" + name("Plan Author") + "\"}";
+    }
+
+    private String book(long authorId) {
+        return "{\"title\":\"" + name("Plan Book") + "\",\"category\":\"Fiction\",\"publishingYear\":2020,"
+                + "\"authorId\":" + authorId + "}";
+    }
+
+    private String member() {
+        return "{\"name\":\"" + name("Plan Member") + "\",\"phone\":\"+1-555-0100\"}";
+    }
+
+    private String loan(long bookId, long memberId, String returnDate) {
+        return "{\"bookId\":" + bookId + ",\"memberId\":" + memberId + ",\"borrowDate\":\"" + borrowDate() + "\""
+                + (returnDate != null ? ",\"returnDate\":\"" + returnDate + "\"" : "") + "}";
+    }
+
+    // Distinct on every call, so an update always changes the row.
+    private String name(String prefix) {
+        return prefix + " " + unique.incrementAndGet();
+    }
+
+    private LocalDate borrowDate() {
+        return LocalDate.of(2020, 1, 1).plusDays(unique.incrementAndGet());
+    }
+
+    // 50 ids spread evenly over the seeded range
+    private static String ids(long upperInclusive) {
+        long step = Math.max(1, upperInclusive / 50);
+        return LongStream.rangeClosed(1, 50)
+                .map(i -> Math.min(upperInclusive, i * step))
+                .distinct()
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create() throws Exception;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.assignment_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntMapTest {
+
+    @Test
+    void putOverwritesAndMissingKeysReturnMinusOne() {
+        LongIntMap map = new LongIntMap(4);
+        map.put(7, 1);
+        map.put(7, 2);
+        map.put(42, 3);
+
+        assertEquals(2, map.get(7));
+        assertEquals(3, map.get(42));
+        assertEquals(-1, map.get(8));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongIntMap map = new LongIntMap(16);
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i, i * 2);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 1; i <= 10_000; i++) {
+            assertEquals(i * 2, map.get(i));
+        }
+    }
+
+    // Random puts and removes over a small key range build long probe chains; backward-shift
+    // deletion must leave every remaining key reachable.
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        LongIntMap map = new LongIntMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 200_000; op++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, op);
+                expected.put(key, op);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1), map.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void removeOfAbsentKeyAndClear() {
+        LongIntMap map = new LongIntMap(16);
+        map.put(1, 1);
+        map.remove(2);
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(1));
+        map.put(1, 5);
+        assertEquals(5, map.get(1));
+    }
+}
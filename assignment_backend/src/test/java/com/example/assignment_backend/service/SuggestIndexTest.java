@@ -0,0 +1,100 @@
+package com.example.assignment_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.assignment_backend.dto.SuggestType;
+import com.example.assignment_backend.dto.SuggestionDto;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class SuggestIndexTest {
+    private static final int ENTRIES = 100;
+
+    @Test
+    void matchesWordPrefixesCaseInsensitively() {
+        SuggestIndex index = new SuggestIndex(SuggestType.BOOK);
+        index.load(new long[] { 1, 2, 3 }, new String[] { "The River Road", "Shadow of the Wind", "Riverside" }, 3);
+
+        assertEquals(Map.of(1L, "The River Road", 3L, "Riverside"), hits(index, "riv"));
+        assertEquals(Map.of(2L, "Shadow of the Wind"), hits(index, "WIN"));
+        assertEquals(Map.of(), hits(index, "iver"));
+        assertEquals(1, index.search("the", 1).size());
+    }
+
+    @Test
+    void upsertAndRemoveAreVisibleBeforeAnyMerge() {
+        SuggestIndex index = new SuggestIndex(SuggestType.AUTHOR);
+        index.load(new long[] { 1 }, new String[] { "Olivia Smith" }, 1);
+
+        index.upsert(2, "Oliver Twist");
+        index.upsert(1, "Ana Smith");
+        index.remove(2);
+
+        assertEquals(Map.of(), hits(index, "oliv"));
+        assertEquals(Map.of(1L, "Ana Smith"), hits(index, "smi"));
+        assertEquals(1, index.stats().getEntries());
+    }
+
+    // Every round renames all entries, so dead slots pass a quarter of the table and the overlay fills
+    // part way through a round: merges then compact, renumbering slots while labels are being added.
+    @Test
+    void renameChurnAcrossMergesAndCompactions() {
+        SuggestIndex index = new SuggestIndex(SuggestType.MEMBER);
+        long[] ids = new long[ENTRIES];
+        String[] labels = new String[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            ids[i] = i + 1;
+            labels[i] = label(i, 0);
+        }
+        index.load(ids, labels, ENTRIES);
+
+        for (int round = 1; round <= 60; round++) {
+            for (int i = 0; i < ENTRIES; i++) {
+                index.upsert(i + 1, label(i, round));
+            }
+            Map<Long, String> current = hits(index, "gen" + round + "x");
+            assertEquals(ENTRIES, current.size(), "round " + round);
+            for (int i = 0; i < ENTRIES; i++) {
+                assertEquals(label(i, round), current.get(i + 1L), "round " + round);
+            }
+            assertEquals(Map.of(), hits(index, "gen" + (round - 1) + "x"), "round " + round);
+            assertEquals(ENTRIES, hits(index, "member").size(), "round " + round);
+        }
+        assertEquals(ENTRIES, index.stats().getEntries());
+        assertTrue(index.stats().getTokens() >= ENTRIES * 3);
+    }
+
+    @Test
+    void growsAndMergesUnderManyInserts() {
+        SuggestIndex index = new SuggestIndex(SuggestType.BOOK);
+        index.load(new long[0], new String[0], 0);
+        for (int i = 1; i <= 10_000; i++) {
+            index.upsert(i, "Volume " + i);
+        }
+        for (int i = 1; i <= 10_000; i += 2) {
+            index.remove(i);
+        }
+        for (int i = 10_001; i <= 15_000; i++) {
+            index.upsert(i, "Volume " + i);
+        }
+
+        assertEquals(Map.of(4242L, "Volume 4242"), hits(index, "4242"));
+        assertEquals(Map.of(), hits(index, "4241"));
+        assertEquals(Map.of(12345L, "Volume 12345"), hits(index, "12345"));
+        assertEquals(10_000, index.stats().getEntries());
+    }
+
+    private static String label(int entry, int round) {
+        return "Member " + entry + " gen" + round + "x";
+    }
+
+    private static Map<Long, String> hits(SuggestIndex index, String prefix) {
+        List<SuggestionDto> results = index.search(prefix, 1_000);
+        return results.stream().collect(Collectors.toMap(SuggestionDto::getId, SuggestionDto::getLabel,
+                (a, b) -> { throw new AssertionError("duplicate id " + a); }, TreeMap::new));
+    }
+}
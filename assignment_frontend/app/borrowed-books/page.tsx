@@ -13,7 +13,7 @@ import { Button } from '@/components/ui/button'
 import { toast } from 'sonner'
 import { CalendarArrowDown, CalendarArrowUp, ChevronDownIcon, IdCard, Pen, Trash2 } from 'lucide-react'
 import { Calendar } from '@/components/ui/calendar'
-import { useDeleteBorrowedBook, useBorrowedBooks } from '@/hooks/borrowedBook'
+import { useDeleteBorrowedBook, useBorrowedBooks, useBorrowedBookStream } from '@/hooks/borrowedBook'
 import { useDebounce } from '@/hooks/use-debounce'
 
 import { LoadingSkeleton } from '@/components/list/LoadingGrid'
@@ -64,6 +64,7 @@ function BorrowedBooksContent() {
 
 
     const { data, isLoading, error } = useBorrowedBooks(page, debouncedSearch, borrowDateStr)
+    useBorrowedBookStream()
     const { mutate, isPending, isSuccess: isDeleteSuccess } = useDeleteBorrowedBook()
 
     useEffect(() => {
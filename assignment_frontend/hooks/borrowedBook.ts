@@ -6,6 +6,7 @@ import { zodResolver } from '@hookform/resolvers/zod'
 
 import { BorrowedBookInputSchema, type BorrowedBookInput, type BorrowedBooksPageResponse } from '@/schemas/borrowedBook'
 
+import { useEffect } from 'react'
 import { useMutation, useQuery, useQueryClient, type UseMutationResult } from '@tanstack/react-query'
 import { deleteBorrowedBook, getAllBorrowedBooks } from '@/services/borrowedBook.service'
 import { borrowedBookKeys } from '@/lib/queryKeys'
@@ -33,4 +34,25 @@ const useBorrowedBooks = (page: number, search?: string, borrowDate?: string) =>
     })
 }
 
-export { useBorrowedBookForm, useDeleteBorrowedBook, useBorrowedBooks }
\ No newline at end of file
+// Refreshes borrowed-book queries when the server reports loan activity, instead of polling.
+// EventSource reconnects on its own and resumes from the last event id it saw.
+const useBorrowedBookStream = () => {
+    const queryClient = useQueryClient()
+    useEffect(() => {
+        const source = new EventSource(`${process.env.NEXT_PUBLIC_API_URL}/api/borrowed-books/stream`, {
+            withCredentials: true,
+        })
+        source.addEventListener('loan', (event) => {
+            const { id } = JSON.parse((event as MessageEvent<string>).data) as { id: number }
+            queryClient.invalidateQueries({ queryKey: borrowedBookKeys.details(id) })
+            queryClient.invalidateQueries({ queryKey: ['borrowedBooks', 'list'] })
+        })
+        // Missed events can no longer be replayed; reload everything.
+        source.addEventListener('resync', () => {
+            queryClient.invalidateQueries({ queryKey: borrowedBookKeys.lists() })
+        })
+        return () => source.close()
+    }, [queryClient])
+}
+
+export { useBorrowedBookForm, useDeleteBorrowedBook, useBorrowedBooks, useBorrowedBookStream }
\ No newline at end of file
@@ -1,6 +1,8 @@
 export async function apiClient(url: string, options?: RequestInit) {
     const res = await fetch(`${process.env.NEXT_PUBLIC_API_URL}${url}`, {
         ...options,
+        // Carries the read-your-writes cookie, so reads right after a write are served by the primary.
+        credentials: "include",
         headers: {
             "Content-Type": "application/json",
             ...(options?.headers || {}),
@@ -0,0 +1,4 @@
+export interface BatchResult<T> {
+    content: T[];
+    missingIds: number[];
+}
@@ -25,7 +25,19 @@ export const BorrowedBookResponseSchema = z.object({
 
 export type BorrowedBookResponse = z.infer<typeof BorrowedBookResponseSchema>;
 
+// The list page requests only these properties (see BORROWED_BOOK_LIST_FIELDS).
+export const BorrowedBookListItemSchema = z.object({
+    id: z.number().int().positive(),
+    book: z.object({ title: z.string() }),
+    member: z.object({ name: z.string() }),
+    borrowDate: z.coerce.date(),
+    returnDate: z.coerce.date().nullable().optional()
+        .transform((val) => val === null ? undefined : val),
+})
+
+export type BorrowedBookListItem = z.infer<typeof BorrowedBookListItemSchema>;
+
 export interface BorrowedBooksPageResponse {
-    content: BorrowedBookResponse[];
+    content: BorrowedBookListItem[];
     page: PageInfo;
 }
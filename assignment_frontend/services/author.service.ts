@@ -1,4 +1,5 @@
 import { apiClient } from "@/lib/apiClient";
+import { type BatchResult } from "@/schemas/batchResult";
 import { type Author, type AuthorsPageResponse } from "@/schemas/author";
 
 export async function createAuthor(data: Partial<Author>): Promise<Author> {
@@ -15,6 +16,12 @@ export async function getAuthorById(id: number): Promise<Author> {
     return response as Author;
 }
 
+export async function getAuthorsByIds(ids: number[]): Promise<BatchResult<Author>> {
+    const params = new URLSearchParams({ ids: ids.join(",") });
+    const response = await apiClient(`/authors?${params}`);
+    return response as BatchResult<Author>;
+}
+
 export async function updateAuthor(id: number, data: Partial<Author>): Promise<Author> {
     const response = await apiClient(`/authors/${id}`, {
         method: "PUT",
@@ -1,4 +1,5 @@
 import { apiClient } from "@/lib/apiClient";
+import { type BatchResult } from "@/schemas/batchResult";
 import { BookResponseSchema, type BookInput, type BookResponse, type BooksPageResponse } from "@/schemas/book";
 
 
@@ -16,6 +17,12 @@ export async function getBookById(id: number): Promise<BookResponse> {
     return response as BookResponse;
 }
 
+export async function getBooksByIds(ids: number[]): Promise<BatchResult<BookResponse>> {
+    const params = new URLSearchParams({ ids: ids.join(",") });
+    const response = await apiClient(`/books?${params}`);
+    return response as BatchResult<BookResponse>;
+}
+
 export async function updateBook(id: number, data: Partial<BookInput>): Promise<BookResponse> {
     const response = await apiClient(`/books/${id}`, {
         method: "PUT",
@@ -1,5 +1,5 @@
 import { apiClient } from "@/lib/apiClient";
-import { BorrowedBookResponseSchema, type BorrowedBookInput, type BorrowedBookResponse, type BorrowedBooksPageResponse } from "@/schemas/borrowedBook";
+import { BorrowedBookListItemSchema, BorrowedBookResponseSchema, type BorrowedBookInput, type BorrowedBookResponse, type BorrowedBooksPageResponse } from "@/schemas/borrowedBook";
 
 
 export async function createBorrowedBook(data: Partial<BorrowedBookInput>): Promise<BorrowedBookResponse> {
@@ -29,20 +29,22 @@ export async function deleteBorrowedBook(id: number): Promise<void> {
     await apiClient(`/borrowed-books/${id}`, { method: "DELETE" });
 }
 
+const BORROWED_BOOK_LIST_FIELDS = "id,borrowDate,returnDate,book.title,member.name";
+
 export async function getAllBorrowedBooks(page: number = 0, size: number = 10, search?: string, borrowDate?: string): Promise<BorrowedBooksPageResponse> {
     const params = new URLSearchParams({
         page: page.toString(),
         size: size.toString(),
+        fields: BORROWED_BOOK_LIST_FIELDS,
     });
     if (search) {
-        params.set('title', search);
-        params.set('memberName', search);
+        params.set('search', search);
     }
     if (borrowDate) {
         params.set('borrowDate', borrowDate);
     }
     const rawResponse = await apiClient(`/borrowed-books?${params}`);
-    const parsedContent = rawResponse.content.map((item: unknown) => BorrowedBookResponseSchema.parse(item));
+    const parsedContent = rawResponse.content.map((item: unknown) => BorrowedBookListItemSchema.parse(item));
     console.log(rawResponse, parsedContent)
     return {
         content: parsedContent,
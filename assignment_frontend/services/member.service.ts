@@ -1,4 +1,5 @@
 import { apiClient } from "@/lib/apiClient";
+import { type BatchResult } from "@/schemas/batchResult";
 import { type Member, type MembersPageResponse } from "@/schemas/member";
 
 
@@ -16,6 +17,12 @@ export async function getMemberById(id: number): Promise<Member> {
     return response as Member;
 }
 
+export async function getMembersByIds(ids: number[]): Promise<BatchResult<Member>> {
+    const params = new URLSearchParams({ ids: ids.join(",") });
+    const response = await apiClient(`/members?${params}`);
+    return response as BatchResult<Member>;
+}
+
 export async function updateMember(id: number, data: Partial<Member>): Promise<Member> {
     const response = await apiClient(`/members/${id}`, {
         method: "PUT",